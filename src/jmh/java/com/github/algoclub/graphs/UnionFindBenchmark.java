@@ -0,0 +1,99 @@
+package com.github.algoclub.graphs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random edges over a fixed set of ids,
+ * boxed maps against primitive arrays
+ * and the parallel bulk union on the common pool
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnionFindBenchmark {
+
+    @Param({"1000000"})
+    int edges;
+
+    private int[] from;
+    private int[] to;
+    private long[] sparseFrom;
+    private long[] sparseTo;
+
+    @Setup
+    public void generate() {
+        Random random = new Random(42);
+        long[] ids = random.longs(edges).toArray();
+
+        from = new int[edges];
+        to = new int[edges];
+        sparseFrom = new long[edges];
+        sparseTo = new long[edges];
+
+        for (int i = 0; i < edges; i++) {
+            from[i] = random.nextInt(edges);
+            to[i] = random.nextInt(edges);
+            sparseFrom[i] = ids[from[i]];
+            sparseTo[i] = ids[to[i]];
+        }
+    }
+
+    @Benchmark
+    public int boxed() {
+        UnionFind unionFind = new UnionFind();
+        int unions = 0;
+
+        for (int i = 0; i < edges; i++) {
+            unions += unionFind.union(from[i], to[i]) ? 1 : 0;
+        }
+
+        return unions;
+    }
+
+    @Benchmark
+    public int dense() {
+        DenseUnionFind unionFind = new DenseUnionFind(edges);
+
+        for (int i = 0; i < edges; i++) {
+            unionFind.union(from[i], to[i]);
+        }
+
+        return unionFind.componentCount();
+    }
+
+    @Benchmark
+    public int concurrentUnionAll() {
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(edges);
+        unionFind.unionAll(from, to);
+
+        return unionFind.componentCount();
+    }
+
+    @Benchmark
+    public int sparseLongIds() {
+        LongUnionFind unionFind = new LongUnionFind(edges);
+
+        for (int i = 0; i < edges; i++) {
+            unionFind.union(sparseFrom[i], sparseTo[i]);
+        }
+
+        return unionFind.componentCount();
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.github.algoclub.pattern_matching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same patterns against many short documents,
+ * preprocessing on every call against compiled once
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledPatternBenchmark {
+
+    private static final int PATTERNS = 200;
+    private static final int DOCUMENTS = 200;
+
+    @Param({"8", "32"})
+    int patternLength;
+
+    private String[] patterns;
+    private String[] documents;
+
+    private final RabinKarpMatcher rabinKarpMatcher = new RabinKarpMatcher();
+    private CompiledPattern[] rabinKarp;
+    private CompiledPattern[] knuthMorrisPratt;
+    private CompiledPattern[] boyerMoore;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        documents = new String[DOCUMENTS];
+
+        for (int i = 0; i < DOCUMENTS; i++) {
+            documents[i] = text(random, 1000);
+        }
+
+        patterns = new String[PATTERNS];
+
+        for (int i = 0; i < PATTERNS; i++) {
+            // half of the patterns occur in the documents
+            String document = documents[random.nextInt(DOCUMENTS)];
+            int from = random.nextInt(document.length() - patternLength);
+            patterns[i] = i % 2 == 0 ? document.substring(from, from + patternLength) : text(random, patternLength);
+        }
+
+        rabinKarp = compile(rabinKarpMatcher);
+        knuthMorrisPratt = compile(new KnuthMorrisPrattMatcher());
+        boyerMoore = compile(new BoyerMooreMatcher());
+    }
+
+    @Benchmark
+    public int rabinKarpFind() {
+        int count = 0;
+
+        for (String document : documents) {
+            for (String pattern : patterns) {
+                count += rabinKarpMatcher.find(document, pattern);
+            }
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int rabinKarpCompiled() {
+        return find(rabinKarp);
+    }
+
+    @Benchmark
+    public int knuthMorrisPrattCompiled() {
+        return find(knuthMorrisPratt);
+    }
+
+    @Benchmark
+    public int boyerMooreCompiled() {
+        return find(boyerMoore);
+    }
+
+    private int find(CompiledPattern[] compiled) {
+        int count = 0;
+
+        for (String document : documents) {
+            for (CompiledPattern pattern : compiled) {
+                count += pattern.find(document);
+            }
+        }
+
+        return count;
+    }
+
+    private CompiledPattern[] compile(PatternMatcher matcher) {
+        CompiledPattern[] compiled = new CompiledPattern[PATTERNS];
+
+        for (int i = 0; i < PATTERNS; i++) {
+            compiled[i] = matcher.compile(patterns[i]);
+        }
+
+        return compiled;
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++) {
+            text.append(random.nextInt(6) == 0 ? ' ' : (char) ('a' + random.nextInt(26)));
+        }
+
+        return text.toString();
+    }
+
+}
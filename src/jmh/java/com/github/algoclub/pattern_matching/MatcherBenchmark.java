@@ -0,0 +1,112 @@
+package com.github.algoclub.pattern_matching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled patterns of every matcher over a long text,
+ * by the pattern length and the size of the alphabet
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatcherBenchmark {
+
+    private static final int TEXT_LENGTH = 1 << 20;
+
+    @Param({"2", "4", "26"})
+    int alphabet;
+
+    @Param({"3", "8", "64"})
+    int patternLength;
+
+    private String text;
+    private CompiledPattern simple;
+    private CompiledPattern rabinKarp;
+    private CompiledPattern rabinKarp64;
+    private CompiledPattern knuthMorrisPratt;
+    private CompiledPattern boyerMoore;
+    private CompiledPattern horspool;
+    private CompiledPattern twoWay;
+    private CompiledPattern adaptive;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(TEXT_LENGTH);
+
+        for (int i = 0; i < TEXT_LENGTH; i++) {
+            builder.append((char) ('a' + random.nextInt(alphabet)));
+        }
+
+        text = builder.toString();
+        int from = random.nextInt(TEXT_LENGTH - patternLength);
+        String pattern = text.substring(from, from + patternLength);
+
+        simple = new SimpleMatcher().compile(pattern);
+        rabinKarp = new RabinKarpMatcher().compile(pattern);
+        rabinKarp64 = new RabinKarp64Matcher().compile(pattern);
+        knuthMorrisPratt = new KnuthMorrisPrattMatcher().compile(pattern);
+        boyerMoore = new BoyerMooreMatcher().compile(pattern);
+        horspool = new HorspoolMatcher().compile(pattern);
+        twoWay = new TwoWayMatcher().compile(pattern);
+        adaptive = new AdaptiveMatcher().compile(pattern);
+    }
+
+    @Benchmark
+    public int simple() {
+        return simple.find(text);
+    }
+
+    @Benchmark
+    public int rabinKarp() {
+        return rabinKarp.find(text);
+    }
+
+    @Benchmark
+    public int rabinKarp64() {
+        return rabinKarp64.find(text);
+    }
+
+    @Benchmark
+    public int knuthMorrisPratt() {
+        return knuthMorrisPratt.find(text);
+    }
+
+    @Benchmark
+    public int boyerMoore() {
+        return boyerMoore.find(text);
+    }
+
+    @Benchmark
+    public int horspool() {
+        return horspool.find(text);
+    }
+
+    @Benchmark
+    public int twoWay() {
+        return twoWay.find(text);
+    }
+
+    @Benchmark
+    public int adaptive() {
+        return adaptive.find(text);
+    }
+
+}
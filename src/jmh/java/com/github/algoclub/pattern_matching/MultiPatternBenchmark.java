@@ -0,0 +1,101 @@
+package com.github.algoclub.pattern_matching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log lines scanned for many keywords,
+ * a pass per keyword against one pass for all of them
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiPatternBenchmark {
+
+    private static final int LINES = 1000;
+
+    @Param({"100", "10000"})
+    int keywords;
+
+    private List<String> patterns;
+    private String[] lines;
+    private AhoCorasickMatcher ahoCorasick;
+    private final PatternMatcher simpleMatcher = new SimpleMatcher();
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        patterns = new ArrayList<>();
+
+        for (int i = 0; i < keywords; i++) {
+            patterns.add(word(random, 4 + random.nextInt(8)));
+        }
+
+        lines = new String[LINES];
+
+        for (int i = 0; i < LINES; i++) {
+            StringBuilder line = new StringBuilder("2024-01-15T10:42:17 INFO  service - ");
+
+            for (int j = 0; j < 12; j++) {
+                line.append(random.nextInt(4) == 0 ? patterns.get(random.nextInt(keywords)) : word(random, 6)).append(' ');
+            }
+
+            lines[i] = line.toString();
+        }
+
+        ahoCorasick = new AhoCorasickMatcher(patterns);
+    }
+
+    @Benchmark
+    public int[] simpleMatcherPerKeyword() {
+        int[] counts = new int[keywords];
+
+        for (String line : lines) {
+            for (int p = 0; p < keywords; p++) {
+                counts[p] += simpleMatcher.find(line, patterns.get(p));
+            }
+        }
+
+        return counts;
+    }
+
+    @Benchmark
+    public int[] ahoCorasick() {
+        int[] counts = new int[keywords];
+
+        for (String line : lines) {
+            ahoCorasick.count(line, counts);
+        }
+
+        return counts;
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+
+        return word.toString();
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.github.algoclub.pattern_matching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A log file searched for a keyword,
+ * loaded as a string against streamed and mapped
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamMatcherBenchmark {
+
+    private static final int LINES = 400_000;
+    private static final String PATTERN = "OutOfMemoryError";
+    private static final String[] LEVELS = {"INFO ", "DEBUG", "WARN ", "ERROR"};
+
+    private Path file;
+    private final StreamMatcher streamMatcher = new StreamMatcher(PATTERN);
+    private final CompiledPattern horspool = new HorspoolMatcher().compile(PATTERN);
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        Random random = new Random(42);
+        file = Files.createTempFile("stream-matcher", ".log");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < LINES; i++) {
+                writer.write("2024-01-15T10:42:17 " + LEVELS[random.nextInt(LEVELS.length)]
+                        + " com.example.service.OrderService - order " + random.nextInt(1_000_000)
+                        + (random.nextInt(1000) == 0 ? " failed with java.lang.OutOfMemoryError" : " processed")
+                        + '\n');
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int loadedString() throws IOException {
+        return horspool.find(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public long streamed() throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return streamMatcher.count(input);
+        }
+    }
+
+    @Benchmark
+    public long mapped() throws IOException {
+        return streamMatcher.count(file);
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.github.algoclub.sorts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primitive TimSort against Arrays.sort
+ * and the boxed TimSort
+ * on partially sorted input
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveTimSortBenchmark {
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    // percent of the elements moved to random positions
+    @Param({"0", "1", "10", "100"})
+    int disorder;
+
+    private long[] source;
+    private long[] longs;
+    private Long[] boxed;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        source = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            source[i] = i * 4L;
+        }
+
+        int swaps = (int) ((long) size * disorder / 100);
+
+        for (int i = 0; i < swaps; i++) {
+            int a = random.nextInt(size);
+            int b = random.nextInt(size);
+
+            long t = source[a];
+            source[a] = source[b];
+            source[b] = t;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        longs = source.clone();
+        boxed = Arrays.stream(source).boxed().toArray(Long[]::new);
+    }
+
+    @Benchmark
+    public long[] primitiveTimSort() {
+        TimSort.sort(longs);
+        return longs;
+    }
+
+    @Benchmark
+    public long[] arraysSort() {
+        Arrays.sort(longs);
+        return longs;
+    }
+
+    @Benchmark
+    public Long[] boxedTimSort() {
+        TimSort.sort(boxed, Long::compare);
+        return boxed;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.github.algoclub.sorts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparator with a key getter
+ * against keys extracted once
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortByKeyBenchmark {
+
+    record Order(long id, long timestamp) {}
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    private Order[] source;
+    private Order[] orders;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        source = new Order[size];
+
+        for (int i = 0; i < size; i++) {
+            source[i] = new Order(i, random.nextLong());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        orders = source.clone();
+    }
+
+    @Benchmark
+    public Order[] comparator() {
+        TimSort.sort(orders, Comparator.comparingLong(Order::timestamp));
+        return orders;
+    }
+
+    @Benchmark
+    public Order[] longKey() {
+        TimSort.sortByLongKey(orders, Order::timestamp);
+        return orders;
+    }
+
+}
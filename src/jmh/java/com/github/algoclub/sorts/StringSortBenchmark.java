@@ -0,0 +1,77 @@
+package com.github.algoclub.sorts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URLs and log keys with long shared prefixes,
+ * comparison sort against the string specialized ones
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringSortBenchmark {
+
+    private static final String[] HOSTS = {
+            "https://www.example.com/api/v2/customers/",
+            "https://static.example.com/assets/images/products/",
+            "2024-01-15T10:42:17 INFO  com.example.service.OrderService - "
+    };
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    private String[] source;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        source = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            source[i] = HOSTS[random.nextInt(HOSTS.length)]
+                    + random.nextInt(size / 10 + 1) + "/orders/" + random.nextInt(1000);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        keys = source.clone();
+    }
+
+    @Benchmark
+    public String[] timSort() {
+        TimSort.sort(keys);
+        return keys;
+    }
+
+    @Benchmark
+    public String[] radixQuicksort() {
+        StringSort.sort(keys);
+        return keys;
+    }
+
+    @Benchmark
+    public String[] stableRadix() {
+        StringSort.sort(keys, true);
+        return keys;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.github.algoclub.sorts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting many small arrays with a new sorter per call
+ * against a reused one, run with -prof gc
+ * and compare gc.alloc.rate.norm:
+ * ./gradlew jmh -Pjmh='TimSortAllocationBenchmark -prof gc'
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimSortAllocationBenchmark {
+
+    @Param({"32", "256", "4096"})
+    int size;
+
+    private Integer[] source;
+    private Integer[] array;
+
+    private long[] primitiveSource;
+    private long[] primitiveArray;
+
+    private final TimSort<Integer> sorter = new TimSort<>(Integer::compare);
+    private final LongTimSort primitiveSorter = new LongTimSort();
+
+    @Setup
+    public void generate() {
+        Random random = new Random(42);
+
+        source = random.ints(size, 0, size).boxed().toArray(Integer[]::new);
+        array = new Integer[size];
+
+        primitiveSource = random.longs(size).toArray();
+        primitiveArray = new long[size];
+    }
+
+    @Benchmark
+    public Integer[] newSorter() {
+        System.arraycopy(source, 0, array, 0, size);
+        TimSort.sort(array, Integer::compare);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] reusedSorter() {
+        System.arraycopy(source, 0, array, 0, size);
+        sorter.sort(array, 0, size);
+        return array;
+    }
+
+    @Benchmark
+    public long[] newPrimitiveSorter() {
+        System.arraycopy(primitiveSource, 0, primitiveArray, 0, size);
+        TimSort.sort(primitiveArray);
+        return primitiveArray;
+    }
+
+    @Benchmark
+    public long[] reusedPrimitiveSorter() {
+        System.arraycopy(primitiveSource, 0, primitiveArray, 0, size);
+        primitiveSorter.sort(primitiveArray);
+        return primitiveArray;
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.github.algoclub.trees;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Striped tree against {@link SegmentTree} behind a global lock,
+ * every thread does updates and queries in the given proportion.
+ * JMH takes one thread count per run, {@link #main} runs them all from 1 to 64
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentSegmentTreeBenchmark {
+
+    @Param({"1048576"})
+    int size;
+
+    // percent of the operations that are updates
+    @Param({"10", "90"})
+    int updates;
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private SegmentTree locked;
+    private ConcurrentSegmentTree striped;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        locked = new SegmentTree(new int[size]);
+        striped = new ConcurrentSegmentTree(new long[size]);
+    }
+
+    @Benchmark
+    public long globalLock() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(size);
+
+        synchronized (locked) {
+            if (random.nextInt(100) < updates) {
+                locked.add(index, 1);
+                return 0;
+            }
+
+            return locked.get(index, Math.min(size - 1, index + random.nextInt(1024)));
+        }
+    }
+
+    @Benchmark
+    public long striped() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(size);
+
+        if (random.nextInt(100) < updates) {
+            striped.add(index, 1);
+            return 0;
+        }
+
+        return striped.get(index, Math.min(size - 1, index + random.nextInt(1024)));
+    }
+
+    /**
+     * Prints the throughput of every benchmark by the thread count
+     */
+    public static void main(String[] args) throws RunnerException {
+        System.out.printf("%-12s %8s %8s %14s%n", "benchmark", "updates", "threads", "ops/us");
+
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(ConcurrentSegmentTreeBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+
+            for (RunResult result : new Runner(options).run()) {
+                System.out.printf("%-12s %8s %8d %14.3f%n",
+                        result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                        result.getParams().getParam("updates"),
+                        threads,
+                        result.getPrimaryResult().getScore());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.github.algoclub.trees;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random range queries and point updates,
+ * segment trees against Fenwick tree and prefix sums for sums
+ * and against sparse table for min
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RangeQueryBenchmark {
+
+    private static final int QUERIES = 1 << 12;
+
+    @Param({"1024", "1048576"})
+    int size;
+
+    private int[] froms;
+    private int[] tos;
+
+    private SegmentTree segmentTree;
+    private LongSegmentTree sumTree;
+    private LongSegmentTree minTree;
+    private FenwickTree fenwickTree;
+    private PrefixSums prefixSums;
+    private SparseTable sparseTable;
+
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        int[] array = random.ints(size, -1000, 1000).toArray();
+        long[] longs = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            longs[i] = array[i];
+        }
+
+        froms = new int[QUERIES];
+        tos = new int[QUERIES];
+
+        for (int i = 0; i < QUERIES; i++) {
+            froms[i] = random.nextInt(size);
+            tos[i] = froms[i] + random.nextInt(size - froms[i]);
+        }
+
+        segmentTree = new SegmentTree(array);
+        sumTree = LongSegmentTree.sum(longs);
+        minTree = LongSegmentTree.min(longs);
+        fenwickTree = new FenwickTree(longs);
+        prefixSums = new PrefixSums(longs);
+        sparseTable = SparseTable.min(longs);
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public long sumSegmentTree() {
+        int i = nextQuery();
+        return segmentTree.get(froms[i], tos[i]);
+    }
+
+    @Benchmark
+    public long sumLongSegmentTree() {
+        int i = nextQuery();
+        return sumTree.get(froms[i], tos[i]);
+    }
+
+    @Benchmark
+    public long sumFenwickTree() {
+        int i = nextQuery();
+        return fenwickTree.get(froms[i], tos[i]);
+    }
+
+    @Benchmark
+    public long sumPrefixSums() {
+        int i = nextQuery();
+        return prefixSums.get(froms[i], tos[i]);
+    }
+
+    @Benchmark
+    public long minSegmentTree() {
+        int i = nextQuery();
+        return minTree.get(froms[i], tos[i]);
+    }
+
+    @Benchmark
+    public long minSparseTable() {
+        int i = nextQuery();
+        return sparseTable.get(froms[i], tos[i]);
+    }
+
+    @Benchmark
+    public void updateSegmentTree() {
+        int i = nextQuery();
+        segmentTree.add(froms[i], 1);
+    }
+
+    @Benchmark
+    public void updateFenwickTree() {
+        int i = nextQuery();
+        fenwickTree.add(froms[i], 1);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.algoclub.graphs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Edges as pairs of big-endian longs,
+ * the format of {@link java.io.DataOutputStream#writeLong(long)}.
+ * The file is mapped a window at a time,
+ * so it is read without copies and is never in the heap
+ */
+final class BinaryEdgeReader implements EdgeReader {
+
+    private static final int EDGE_BYTES = 2 * Long.BYTES;
+    // 64M edges, 1 GiB per window
+    private static final long WINDOW_EDGES = 1L << 26;
+
+    private final FileChannel channel;
+    private final long size;
+
+    private ByteBuffer window = ByteBuffer.allocate(0);
+    private long position = 0;
+
+    BinaryEdgeReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+
+        if (size % EDGE_BYTES != 0) {
+            channel.close();
+            throw new IOException(String.format("%s has %d bytes, not a whole number of %d byte edges",
+                    path, size, EDGE_BYTES));
+        }
+    }
+
+    @Override
+    public int read(long[] src, long[] dst) throws IOException {
+        int count = 0;
+
+        while (count < src.length) {
+            if (!window.hasRemaining()) {
+                if (position == size) {
+                    break;
+                }
+
+                long length = Math.min(WINDOW_EDGES * EDGE_BYTES, size - position);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                position += length;
+            }
+
+            int edges = Math.min(src.length - count, window.remaining() / EDGE_BYTES);
+
+            for (int i = 0; i < edges; i++) {
+                src[count] = window.getLong();
+                dst[count] = window.getLong();
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
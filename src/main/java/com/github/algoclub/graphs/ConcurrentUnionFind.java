@@ -0,0 +1,204 @@
+package com.github.algoclub.graphs;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free union-find for ids in [0, capacity)
+ * after Jayanti and Tarjan: parents are kept in an atomic array,
+ * a root is linked with a CAS that fails if it has stopped being a root,
+ * and find splits the path with CAS, pointing every node
+ * to its grandparent, a failed split is just skipped.
+ * Roots are linked by a random-like priority of the ids,
+ * this keeps the trees shallow and never makes a cycle.
+ * All the ids are there from the start, the capacity doesn't grow
+ */
+public final class ConcurrentUnionFind {
+
+    // edges per task of unionAll
+    static final int DEFAULT_CUTOFF = 1 << 14;
+
+    private final AtomicIntegerArray parents;
+    private final LongAdder unions = new LongAdder();
+
+    public ConcurrentUnionFind(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(String.format("Capacity should not be negative, got %d", capacity));
+        }
+
+        this.parents = new AtomicIntegerArray(capacity);
+
+        for (int i = 0; i < capacity; i++) {
+            parents.set(i, i);
+        }
+    }
+
+    public int find(int a) {
+        checkId(a);
+
+        while (true) {
+            int parent = parents.get(a);
+
+            if (parent == a) {
+                return a;
+            }
+
+            int grandparent = parents.get(parent);
+
+            if (parent != grandparent) {
+                parents.compareAndSet(a, parent, grandparent);
+            }
+
+            a = parent;
+        }
+    }
+
+    public boolean union(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+
+            if (a == b) {
+                return false;
+            }
+
+            // the root with the lower priority goes under the other one
+            if (before(b, a)) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+
+            if (parents.compareAndSet(a, a, b)) {
+                unions.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Linearizable: the answer was true
+     * at some moment during the call
+     */
+    public boolean connected(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+
+            if (a == b) {
+                return true;
+            }
+
+            // a is still a root, so they were apart when it was found
+            if (parents.get(a) == a) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Exact when no union runs at the same time
+     */
+    public int componentCount() {
+        return (int) (parents.length() - unions.sum());
+    }
+
+    public int capacity() {
+        return parents.length();
+    }
+
+    /**
+     * Unions src[i] and dst[i] for every i on the common pool,
+     * returns the number of unions that merged two components
+     */
+    public long unionAll(int[] src, int[] dst) {
+        return unionAll(src, dst, ForkJoinPool.commonPool(), DEFAULT_CUTOFF);
+    }
+
+    long unionAll(int[] src, int[] dst, ForkJoinPool pool, int cutoff) {
+        if (src.length != dst.length) {
+            throw new IllegalArgumentException(
+                    String.format("Got %d sources for %d destinations", src.length, dst.length));
+        }
+
+        if (cutoff < 1) {
+            throw new IllegalArgumentException(String.format("Cutoff should be positive, got %d", cutoff));
+        }
+
+        LongAdder merged = new LongAdder();
+        pool.invoke(new UnionTask(src, dst, 0, src.length, cutoff, merged));
+
+        return merged.sum();
+    }
+
+    /**
+     * Whether a goes before b in the linking order:
+     * by a mixed hash of the id, ties by the id
+     */
+    private static boolean before(int a, int b) {
+        int priorityA = priority(a);
+        int priorityB = priority(b);
+
+        return priorityA < priorityB || (priorityA == priorityB && a < b);
+    }
+
+    private static int priority(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void checkId(int id) {
+        if (id >= parents.length() || id < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The given id %d is out of capacity %d", id, parents.length()));
+        }
+    }
+
+    /**
+     * Unions the edges in [low, high)
+     */
+    private final class UnionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dst;
+        private final int low;
+        private final int high;
+        private final int cutoff;
+        private final LongAdder merged;
+
+        UnionTask(int[] src, int[] dst, int low, int high, int cutoff, LongAdder merged) {
+            this.src = src;
+            this.dst = dst;
+            this.low = low;
+            this.high = high;
+            this.cutoff = cutoff;
+            this.merged = merged;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= cutoff) {
+                int count = 0;
+
+                for (int i = low; i < high; i++) {
+                    if (union(src[i], dst[i])) {
+                        count++;
+                    }
+                }
+
+                merged.add(count);
+                return;
+            }
+
+            int middle = (low + high) >>> 1;
+
+            invokeAll(new UnionTask(src, dst, low, middle, cutoff, merged),
+                    new UnionTask(src, dst, middle, high, cutoff, merged));
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.github.algoclub.graphs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Connected components of graphs too big
+ * to keep the edges in memory: edge files are streamed
+ * in batches into a {@link LongUnionFind},
+ * only the vertices are kept.
+ * Components are labeled 0, 1, 2... in the order
+ * their first vertex was seen
+ */
+public final class ConnectedComponents {
+
+    static final int DEFAULT_BATCH = 1 << 16;
+    private static final int TEXT_BUFFER_SIZE = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final LongUnionFind unionFind;
+    private final long[] src;
+    private final long[] dst;
+
+    // labels by vertex index, made on demand
+    // and dropped when new edges come
+    private int[] labels;
+
+    public ConnectedComponents() {
+        this(0);
+    }
+
+    /**
+     * The number of vertices is a hint,
+     * more vertices are still accepted
+     */
+    public ConnectedComponents(int expectedVertices) {
+        this.unionFind = new LongUnionFind(expectedVertices);
+        this.src = new long[DEFAULT_BATCH];
+        this.dst = new long[DEFAULT_BATCH];
+    }
+
+    /**
+     * Adds the edges of a file of big-endian long pairs,
+     * see {@link BinaryEdgeReader}
+     */
+    public void addBinary(Path file) throws IOException {
+        try (EdgeReader reader = new BinaryEdgeReader(file)) {
+            add(reader);
+        }
+    }
+
+    /**
+     * Adds the edges of a text file with a pair of ids per line,
+     * see {@link TextEdgeReader}
+     */
+    public void addText(Path file) throws IOException {
+        try (EdgeReader reader = new TextEdgeReader(file, TEXT_BUFFER_SIZE)) {
+            add(reader);
+        }
+    }
+
+    /**
+     * Adds the first count edges of the arrays
+     */
+    public void add(long[] src, long[] dst, int count) {
+        labels = null;
+
+        for (int i = 0; i < count; i++) {
+            unionFind.union(src[i], dst[i]);
+        }
+    }
+
+    public int vertexCount() {
+        return unionFind.size();
+    }
+
+    public int componentCount() {
+        return unionFind.componentCount();
+    }
+
+    /**
+     * The label of the component of the vertex,
+     * -1 if the vertex isn't in any edge
+     */
+    public int label(long vertex) {
+        int index = unionFind.indexOf(vertex);
+        return index == -1 ? -1 : labels()[index];
+    }
+
+    /**
+     * Number of components by their size
+     */
+    public SortedMap<Integer, Integer> sizeHistogram() {
+        int[] sizes = new int[componentCount()];
+
+        for (int label : labels()) {
+            sizes[label]++;
+        }
+
+        SortedMap<Integer, Integer> histogram = new TreeMap<>();
+
+        for (int size : sizes) {
+            histogram.merge(size, 1, Integer::sum);
+        }
+
+        return histogram;
+    }
+
+    /**
+     * Writes a pair of big-endian longs for every vertex:
+     * the vertex and the label of its component
+     */
+    public void writeLabels(Path output) throws IOException {
+        int[] labels = labels();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(output,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < labels.length; i++) {
+                if (buffer.remaining() < 2 * Long.BYTES) {
+                    flush(channel, buffer);
+                }
+
+                buffer.putLong(unionFind.id(i));
+                buffer.putLong(labels[i]);
+            }
+
+            flush(channel, buffer);
+        }
+    }
+
+    private void add(EdgeReader reader) throws IOException {
+        int count;
+
+        while ((count = reader.read(src, dst)) > 0) {
+            add(src, dst, count);
+        }
+    }
+
+    private int[] labels() {
+        if (labels != null) {
+            return labels;
+        }
+
+        int n = unionFind.size();
+        int[] labelsByRoot = new int[n];
+        Arrays.fill(labelsByRoot, -1);
+
+        int[] labels = new int[n];
+        int labelCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            int root = unionFind.rootIndex(i);
+
+            if (labelsByRoot[root] == -1) {
+                labelsByRoot[root] = labelCount++;
+            }
+
+            labels[i] = labelsByRoot[root];
+        }
+
+        this.labels = labels;
+        return labels;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.github.algoclub.graphs;
+
+import java.util.Arrays;
+
+/**
+ * {@link UnionFind} for ids from 0 up,
+ * parents and sizes are kept in int arrays
+ * that grow when a bigger id comes.
+ * Like in {@link UnionFind} an id that wasn't seen yet
+ * becomes a single component on the first call
+ */
+public final class DenseUnionFind {
+
+    private static final int UNSEEN = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] parents;
+    private int[] sizes;
+    private int componentCount = 0;
+
+    public DenseUnionFind() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * The capacity is the expected biggest id plus one,
+     * bigger ids are still accepted
+     */
+    public DenseUnionFind(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(String.format("Capacity should not be negative, got %d", capacity));
+        }
+
+        this.parents = new int[capacity];
+        this.sizes = new int[capacity];
+
+        Arrays.fill(parents, UNSEEN);
+    }
+
+    /**
+     * Goes up with path halving: every node on the way
+     * is linked to its grandparent, no recursion
+     */
+    public int find(int a) {
+        see(a);
+
+        while (parents[a] != a) {
+            parents[a] = parents[parents[a]];
+            a = parents[a];
+        }
+
+        return a;
+    }
+
+    public boolean union(int a, int b) {
+        int parentA = find(a);
+        int parentB = find(b);
+
+        if (parentA == parentB) {
+            return false;
+        }
+
+        if (sizes[parentA] > sizes[parentB]) {
+            int t = parentA;
+            parentA = parentB;
+            parentB = t;
+        }
+
+        parents[parentA] = parentB;
+        sizes[parentB] += sizes[parentA];
+        componentCount--;
+        return true;
+    }
+
+    /**
+     * Number of components among the seen ids
+     */
+    public int componentCount() {
+        return componentCount;
+    }
+
+    public int componentSize(int a) {
+        return sizes[find(a)];
+    }
+
+    private void see(int a) {
+        if (a < 0) {
+            throw new IllegalArgumentException(String.format("Id should not be negative, got %d", a));
+        }
+
+        if (a >= parents.length) {
+            int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(a + 1L, parents.length * 2L));
+            int oldCapacity = parents.length;
+
+            parents = Arrays.copyOf(parents, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            Arrays.fill(parents, oldCapacity, capacity, UNSEEN);
+        }
+
+        if (parents[a] == UNSEEN) {
+            parents[a] = a;
+            sizes[a] = 1;
+            componentCount++;
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.github.algoclub.graphs;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads edges in batches
+ * into arrays that the caller reuses
+ */
+interface EdgeReader extends Closeable {
+
+    /**
+     * Fills src and dst from the start,
+     * returns the number of edges read, 0 at the end
+     */
+    int read(long[] src, long[] dst) throws IOException;
+
+}
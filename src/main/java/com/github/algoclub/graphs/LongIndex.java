@@ -0,0 +1,133 @@
+package com.github.algoclub.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Gives long keys dense indexes 0, 1, 2...
+ * in the order they are added.
+ * Open addressing with linear probing,
+ * the table keeps only the indexes and the keys
+ * are kept once in a dense array, about 21 bytes per key
+ */
+final class LongIndex {
+
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    // table[slot] is the index of the key or EMPTY
+    private int[] table;
+    private int shift;
+    private long[] keys;
+    private int size = 0;
+
+    LongIndex(int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException(String.format("Expected keys should not be negative, got %d", expectedKeys));
+        }
+
+        int capacity = MIN_CAPACITY;
+
+        while (capacity < MAX_CAPACITY && capacity / 4 * 3 < expectedKeys) {
+            capacity *= 2;
+        }
+
+        this.table = new int[capacity];
+        this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        this.keys = new long[Math.max(expectedKeys, MIN_CAPACITY)];
+
+        Arrays.fill(table, EMPTY);
+    }
+
+    /**
+     * The index of the key, -1 if it wasn't added
+     */
+    int get(long key) {
+        int mask = table.length - 1;
+
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int index = table[slot];
+
+            if (index == EMPTY || keys[index] == key) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * The index of the key,
+     * a new key gets the next index
+     */
+    int getOrAdd(long key) {
+        int mask = table.length - 1;
+        int slot = slot(key);
+
+        while (true) {
+            int index = table[slot];
+
+            if (index == EMPTY) {
+                break;
+            }
+
+            if (keys[index] == key) {
+                return index;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (size >= table.length / 4 * 3) {
+            grow();
+            return getOrAdd(key);
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, (int) Math.min(Integer.MAX_VALUE - 8, keys.length * 2L));
+        }
+
+        keys[size] = key;
+        table[slot] = size;
+        return size++;
+    }
+
+    long key(int index) {
+        return keys[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Fibonacci hashing, the high bits
+     * of the product depend on all the key bits
+     */
+    private int slot(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> shift);
+    }
+
+    private void grow() {
+        if (table.length == MAX_CAPACITY) {
+            throw new IllegalStateException(String.format("Can't keep more than %d keys", size));
+        }
+
+        table = new int[table.length * 2];
+        shift--;
+        Arrays.fill(table, EMPTY);
+
+        int mask = table.length - 1;
+
+        // the keys are read in order, not by the old table
+        for (int index = 0; index < size; index++) {
+            int slot = slot(keys[index]);
+
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = index;
+        }
+    }
+
+}
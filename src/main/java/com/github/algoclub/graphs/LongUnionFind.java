@@ -0,0 +1,124 @@
+package com.github.algoclub.graphs;
+
+import java.util.Arrays;
+
+/**
+ * {@link DenseUnionFind} for any long ids:
+ * every id gets a dense index from {@link LongIndex}
+ * and parents and sizes are kept by these indexes,
+ * nothing is boxed.
+ * An id that wasn't seen yet becomes a single component
+ */
+public final class LongUnionFind {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final LongIndex index;
+
+    private int[] parents;
+    private int[] sizes;
+    private int componentCount = 0;
+
+    public LongUnionFind() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * The capacity is the expected number of ids,
+     * more ids are still accepted
+     */
+    public LongUnionFind(int capacity) {
+        this.index = new LongIndex(capacity);
+        this.parents = new int[Math.max(capacity, DEFAULT_CAPACITY)];
+        this.sizes = new int[parents.length];
+    }
+
+    public long find(long a) {
+        return index.key(findIndex(a));
+    }
+
+    public boolean union(long a, long b) {
+        int parentA = findIndex(a);
+        int parentB = findIndex(b);
+
+        if (parentA == parentB) {
+            return false;
+        }
+
+        if (sizes[parentA] > sizes[parentB]) {
+            int t = parentA;
+            parentA = parentB;
+            parentB = t;
+        }
+
+        parents[parentA] = parentB;
+        sizes[parentB] += sizes[parentA];
+        componentCount--;
+        return true;
+    }
+
+    /**
+     * Number of components among the seen ids
+     */
+    public int componentCount() {
+        return componentCount;
+    }
+
+    public int componentSize(long a) {
+        return sizes[findIndex(a)];
+    }
+
+    /**
+     * Number of seen ids
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * The dense index of the id, -1 if it wasn't seen
+     */
+    int indexOf(long a) {
+        return index.get(a);
+    }
+
+    long id(int i) {
+        return index.key(i);
+    }
+
+    /**
+     * Path halving over the indexes
+     */
+    int rootIndex(int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+
+        return i;
+    }
+
+    private int findIndex(long a) {
+        return rootIndex(see(a));
+    }
+
+    private int see(long a) {
+        int size = index.size();
+        int i = index.getOrAdd(a);
+
+        if (i == size) {
+            if (i == parents.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, parents.length * 2L);
+                parents = Arrays.copyOf(parents, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+            }
+
+            parents[i] = i;
+            sizes[i] = 1;
+            componentCount++;
+        }
+
+        return i;
+    }
+
+}
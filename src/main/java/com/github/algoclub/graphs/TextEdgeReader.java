@@ -0,0 +1,151 @@
+package com.github.algoclub.graphs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Edges as text, one "src dst" pair per line,
+ * the ids are separated by spaces, tabs or a comma.
+ * Empty lines and lines starting with # are skipped.
+ * Bytes are parsed right from the buffer,
+ * no strings are made for the lines
+ */
+final class TextEdgeReader implements EdgeReader {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final long[] ids = new long[2];
+
+    private long line = 1;
+    private boolean endOfFile = false;
+
+    TextEdgeReader(Path path, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 1));
+        this.buffer.flip();
+    }
+
+    @Override
+    public int read(long[] src, long[] dst) throws IOException {
+        int count = 0;
+
+        while (count < src.length) {
+            int fields = readLine();
+
+            if (fields == -1) {
+                break;
+            }
+
+            if (fields == 0) {
+                continue;
+            }
+
+            if (fields != 2) {
+                throw new IOException(String.format("Line %d has %d ids instead of 2", line - 1, fields));
+            }
+
+            src[count] = ids[0];
+            dst[count] = ids[1];
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Parses the next line into ids,
+     * returns the number of ids on it,
+     * -1 at the end of the file
+     */
+    private int readLine() throws IOException {
+        int b = next();
+
+        if (b == -1) {
+            return -1;
+        }
+
+        int fields = 0;
+        boolean comment = b == '#';
+
+        while (b != -1 && b != '\n') {
+            if (comment || b == ' ' || b == '\t' || b == ',' || b == '\r') {
+                b = next();
+                continue;
+            }
+
+            boolean negative = b == '-';
+
+            if (negative) {
+                b = next();
+            }
+
+            if (b < '0' || b > '9') {
+                throw new IOException(String.format("Line %d has an unexpected character '%c'", line, (char) b));
+            }
+
+            long value = 0;
+
+            while (b >= '0' && b <= '9') {
+                int digit = b - '0';
+
+                // collects the negative value, so Long.MIN_VALUE fits
+                if (value < (Long.MIN_VALUE + digit) / 10) {
+                    throw new IOException(String.format("Line %d has an id out of the long range", line));
+                }
+
+                value = value * 10 - digit;
+                b = next();
+            }
+
+            if (!negative) {
+                if (value == Long.MIN_VALUE) {
+                    throw new IOException(String.format("Line %d has an id out of the long range", line));
+                }
+
+                value = -value;
+            }
+
+            if (fields < ids.length) {
+                ids[fields] = value;
+            }
+
+            fields++;
+        }
+
+        line++;
+        return fields;
+    }
+
+    private int next() throws IOException {
+        if (!buffer.hasRemaining()) {
+            if (endOfFile) {
+                return -1;
+            }
+
+            buffer.clear();
+
+            int read = channel.read(buffer);
+            buffer.flip();
+
+            if (read == -1) {
+                endOfFile = true;
+                return -1;
+            }
+
+            if (read == 0) {
+                return next();
+            }
+        }
+
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.github.algoclub.pattern_matching;
+
+/**
+ * Picks the matcher by the pattern:
+ * brute force for the tiny ones, where any preprocessing costs more than it saves,
+ * Horspool for big alphabets, where the bad char shifts are long,
+ * and for small alphabets Rabin-Karp 64 if the pattern is short,
+ * Boyer-Moore if it's long, as the good suffix shifts make up for the bad char ones,
+ * and Two-Way if it's also periodic, where Boyer-Moore degrades to O(n * m)
+ */
+public final class AdaptiveMatcher implements PatternMatcher {
+
+    // patterns up to this length are matched by brute force
+    static final int SHORT_PATTERN = 2;
+    // patterns with at most this many distinct chars have a small alphabet
+    static final int SMALL_ALPHABET = 4;
+    // small alphabet patterns shorter than this are hashed
+    static final int LONG_PATTERN = 8;
+
+    private static final PatternMatcher SIMPLE = new SimpleMatcher();
+    private static final PatternMatcher HORSPOOL = new HorspoolMatcher();
+    private static final PatternMatcher RABIN_KARP_64 = new RabinKarp64Matcher();
+    private static final PatternMatcher BOYER_MOORE = new BoyerMooreMatcher();
+    private static final PatternMatcher TWO_WAY = new TwoWayMatcher();
+
+    @Override
+    public int find(String origin, String pattern) {
+        return compile(pattern).find(origin);
+    }
+
+    @Override
+    public CompiledPattern compile(String pattern) {
+        if (pattern.isEmpty()) {
+            return origin -> 0;
+        }
+
+        return choose(pattern).compile(pattern);
+    }
+
+    static PatternMatcher choose(String pattern) {
+        int m = pattern.length();
+
+        if (m <= SHORT_PATTERN) {
+            return SIMPLE;
+        }
+
+        if (distinctChars(pattern, SMALL_ALPHABET + 1) > SMALL_ALPHABET) {
+            return HORSPOOL;
+        }
+
+        if (m < LONG_PATTERN) {
+            return RABIN_KARP_64;
+        }
+
+        return 2 * period(pattern) <= m ? TWO_WAY : BOYER_MOORE;
+    }
+
+    /**
+     * Number of distinct chars in the pattern, counted up to the limit
+     */
+    private static int distinctChars(String pattern, int limit) {
+        char[] seen = new char[limit];
+        int count = 0;
+
+        for (int i = 0; i < pattern.length() && count < limit; i++) {
+            char c = pattern.charAt(i);
+            boolean found = false;
+
+            for (int j = 0; j < count && !found; j++) {
+                found = seen[j] == c;
+            }
+
+            if (!found) {
+                seen[count++] = c;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * The smallest period of the pattern, its length minus its longest border
+     */
+    private static int period(String pattern) {
+        int[] borders = new int[pattern.length()];
+
+        for (int i = 1, k = 0; i < pattern.length(); i++) {
+            while (k > 0 && pattern.charAt(i) != pattern.charAt(k)) {
+                k = borders[k - 1];
+            }
+
+            if (pattern.charAt(i) == pattern.charAt(k)) {
+                k++;
+            }
+
+            borders[i] = k;
+        }
+
+        return pattern.length() - borders[pattern.length() - 1];
+    }
+
+}
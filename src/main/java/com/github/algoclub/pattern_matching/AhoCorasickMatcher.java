@@ -0,0 +1,455 @@
+package com.github.algoclub.pattern_matching;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds many patterns at once in a single pass over the text.
+ * The trie of the patterns is kept as a double array:
+ * the child of a state by a char is at base[state] + class(char)
+ * if check of that cell is the state, so a transition is
+ * two array reads and the table is a handful of int arrays.
+ * Failure links lead to the longest proper suffix in the trie,
+ * output links to the nearest suffix that is a pattern
+ */
+public final class AhoCorasickMatcher {
+
+    /**
+     * Receives the index of the pattern in the given list
+     * and the position in the text it starts at
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+
+        void onMatch(int pattern, int position);
+
+    }
+
+    static final int ROOT = 0;
+    private static final int FREE = -1;
+    private static final int NONE = -1;
+
+    // class of every char up to the biggest char of the patterns,
+    // 0 for the chars that aren't in any pattern
+    private final int[] classes;
+    private final int[] base;
+    private final int[] check;
+    private final int[] fail;
+    // nearest state on the failure chain that ends a pattern
+    private final int[] output;
+    // patterns that end at the state, linked by nextPattern
+    private final int[] firstPattern;
+    private final int[] nextPattern;
+    private final int[] patternStates;
+    private final int[] patternLengths;
+    // states in breadth first order, failure links point backwards in it
+    private final int[] order;
+
+    public AhoCorasickMatcher(String... patterns) {
+        this(Arrays.asList(patterns));
+    }
+
+    public AhoCorasickMatcher(List<String> patterns) {
+        int n = patterns.size();
+        patternLengths = new int[n];
+        int maxChar = 0;
+        int totalLength = 0;
+
+        for (int i = 0; i < n; i++) {
+            String pattern = patterns.get(i);
+
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException(String.format("The pattern %d is empty", i));
+            }
+
+            patternLengths[i] = pattern.length();
+            totalLength += pattern.length();
+
+            for (int j = 0; j < pattern.length(); j++) {
+                maxChar = Math.max(maxChar, pattern.charAt(j));
+            }
+        }
+
+        // classes follow the char order, so the string order of the patterns is their class order
+        classes = new int[maxChar + 1];
+
+        for (String pattern : patterns) {
+            for (int j = 0; j < pattern.length(); j++) {
+                classes[pattern.charAt(j)] = 1;
+            }
+        }
+
+        int alphabet = 0;
+
+        for (int c = 0; c < classes.length; c++) {
+            if (classes[c] != 0) {
+                classes[c] = ++alphabet;
+            }
+        }
+
+        Builder builder = new Builder(patterns, classes, totalLength + 1, alphabet);
+        base = Arrays.copyOf(builder.base, builder.length);
+        check = Arrays.copyOf(builder.check, builder.length);
+        fail = Arrays.copyOf(builder.fail, builder.length);
+        output = Arrays.copyOf(builder.output, builder.length);
+        firstPattern = Arrays.copyOf(builder.firstPattern, builder.length);
+        nextPattern = builder.nextPattern;
+        patternStates = builder.patternStates;
+        order = Arrays.copyOf(builder.order, builder.stateCount);
+    }
+
+    /**
+     * Number of occurrences of every pattern in the text,
+     * by the index of the pattern
+     */
+    public int[] count(String text) {
+        int[] counts = new int[patternStates.length];
+        count(text, counts);
+        return counts;
+    }
+
+    /**
+     * Adds the occurrences of every pattern in the text to the counts,
+     * so one array can collect the counts of many texts
+     */
+    public void count(String text, int[] counts) {
+        if (counts.length < patternStates.length) {
+            throw new IllegalArgumentException(String.format("The given counts %d are fewer than the patterns %d",
+                    counts.length, patternStates.length));
+        }
+
+        if (text.length() < order.length) {
+            countByOutputLinks(text, counts);
+        } else {
+            countByFailureTree(text, counts);
+        }
+    }
+
+    /**
+     * Reports every occurrence of every pattern in the order of their ends
+     */
+    public void find(String text, MatchListener listener) {
+        int state = ROOT;
+
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+
+            for (int s = firstPattern[state] != NONE ? state : output[state]; s != NONE; s = output[s]) {
+                for (int p = firstPattern[s]; p != NONE; p = nextPattern[p]) {
+                    listener.onMatch(p, i - patternLengths[p] + 1);
+                }
+            }
+        }
+    }
+
+    public int patternCount() {
+        return patternStates.length;
+    }
+
+    public int stateCount() {
+        return order.length;
+    }
+
+    /**
+     * The state after the char, the text read so far
+     * is the whole state, so a scan can stop and go on at any char
+     */
+    int next(int state, char ch) {
+        int c = ch < classes.length ? classes[ch] : 0;
+
+        if (c == 0) {
+            return ROOT;
+        }
+
+        while (true) {
+            int t = base[state] + c;
+
+            if (t < check.length && check[t] == state) {
+                return t;
+            }
+
+            if (state == ROOT) {
+                return ROOT;
+            }
+
+            state = fail[state];
+        }
+    }
+
+    /**
+     * Walks the output links at every char,
+     * O(text + matches) and no memory, for texts shorter than the automaton
+     */
+    private void countByOutputLinks(String text, int[] counts) {
+        int state = ROOT;
+
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+
+            for (int s = firstPattern[state] != NONE ? state : output[state]; s != NONE; s = output[s]) {
+                for (int p = firstPattern[s]; p != NONE; p = nextPattern[p]) {
+                    counts[p]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the visits of every state and pushes them up the failure tree,
+     * as a state is also a visit of all its suffixes,
+     * O(text + states) however many patterns overlap
+     */
+    private void countByFailureTree(String text, int[] counts) {
+        int[] visits = new int[check.length];
+        int state = ROOT;
+
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            visits[state]++;
+        }
+
+        for (int i = order.length - 1; i > 0; i--) {
+            visits[fail[order[i]]] += visits[order[i]];
+        }
+
+        for (int p = 0; p < patternStates.length; p++) {
+            counts[p] += visits[patternStates[p]];
+        }
+    }
+
+    /**
+     * Lays out the trie breadth first straight from the sorted patterns:
+     * a state is a range of patterns that share a prefix,
+     * its children are the subranges by the next char
+     */
+    private static final class Builder {
+
+        private final List<String> patterns;
+        private final int[] classes;
+        private final int[] sorted;
+
+        private int[] base;
+        private int[] check;
+        private int[] fail;
+        private int[] output;
+        private int[] firstPattern;
+        private final int[] nextPattern;
+        private final int[] patternStates;
+        private final int[] order;
+
+        // free cells as a doubly linked list, so the search of a base skips the taken ones
+        private int[] nextFree;
+        private int[] previousFree;
+        private int freeHead = NONE;
+        private int freeTail = NONE;
+
+        private int length = 1;
+        private int stateCount = 0;
+
+        Builder(List<String> patterns, int[] classes, int maxStates, int alphabet) {
+            this.patterns = patterns;
+            this.classes = classes;
+            this.sorted = sortedIndexes(patterns);
+            this.nextPattern = new int[patterns.size()];
+            this.patternStates = new int[patterns.size()];
+            this.order = new int[maxStates];
+
+            base = new int[0];
+            check = new int[0];
+            fail = new int[0];
+            output = new int[0];
+            firstPattern = new int[0];
+            nextFree = new int[0];
+            previousFree = new int[0];
+            grow(Math.max(2 * (alphabet + 1), 16));
+            take(ROOT);
+            output[ROOT] = NONE;
+            build(alphabet);
+        }
+
+        private void build(int alphabet) {
+            // per state: depth and the range of sorted patterns below it
+            int[] depths = new int[order.length];
+            int[] from = new int[order.length];
+            int[] to = new int[order.length];
+            int[] children = new int[alphabet];
+            int[] childFrom = new int[alphabet];
+            int[] childTo = new int[alphabet];
+
+            order[0] = ROOT;
+            from[0] = 0;
+            to[0] = sorted.length;
+            stateCount = 1;
+
+            for (int head = 0; head < stateCount; head++) {
+                int state = order[head];
+                int depth = depths[head];
+                int childCount = 0;
+
+                for (int i = from[head]; i < to[head]; ) {
+                    int c = classes[patterns.get(sorted[i]).charAt(depth)];
+                    int j = i + 1;
+
+                    while (j < to[head] && classes[patterns.get(sorted[j]).charAt(depth)] == c) {
+                        j++;
+                    }
+
+                    children[childCount] = c;
+                    childFrom[childCount] = i;
+                    childTo[childCount] = j;
+                    childCount++;
+                    i = j;
+                }
+
+                if (childCount == 0) {
+                    continue;
+                }
+
+                int b = findBase(children, childCount);
+                base[state] = b;
+
+                for (int k = 0; k < childCount; k++) {
+                    int child = b + children[k];
+                    take(child);
+                    check[child] = state;
+                    length = Math.max(length, child + 1);
+
+                    fail[child] = state == ROOT ? ROOT : failure(fail[state], children[k]);
+                    output[child] = firstPattern[fail[child]] != NONE ? fail[child] : output[fail[child]];
+
+                    // patterns that end here sort before the longer ones of the range
+                    int i = childFrom[k];
+
+                    while (i < childTo[k] && patterns.get(sorted[i]).length() == depth + 1) {
+                        int p = sorted[i];
+                        nextPattern[p] = firstPattern[child];
+                        firstPattern[child] = p;
+                        patternStates[p] = child;
+                        i++;
+                    }
+
+                    order[stateCount] = child;
+                    depths[stateCount] = depth + 1;
+                    from[stateCount] = i;
+                    to[stateCount] = childTo[k];
+                    stateCount++;
+                }
+            }
+        }
+
+        private int failure(int state, int c) {
+            while (true) {
+                int t = base[state] + c;
+
+                if (t < check.length && check[t] == state) {
+                    return t;
+                }
+
+                if (state == ROOT) {
+                    return ROOT;
+                }
+
+                state = fail[state];
+            }
+        }
+
+        /**
+         * First base that puts all the children on free cells
+         */
+        private int findBase(int[] children, int count) {
+            for (int cell = freeHead; ; cell = nextFree[cell]) {
+                if (cell == NONE) {
+                    // no room among the free cells, starts right after all of them
+                    int b = check.length;
+                    grow(b + children[count - 1] + 1);
+                    return b;
+                }
+
+                int b = cell - children[0];
+
+                if (b < 0) {
+                    continue;
+                }
+
+                if (b + children[count - 1] >= check.length) {
+                    grow(b + children[count - 1] + 1);
+                }
+
+                boolean fits = true;
+
+                for (int k = 1; k < count && fits; k++) {
+                    fits = check[b + children[k]] == FREE;
+                }
+
+                if (fits) {
+                    return b;
+                }
+            }
+        }
+
+        private void take(int cell) {
+            int previous = previousFree[cell];
+            int next = nextFree[cell];
+
+            if (previous == NONE) {
+                freeHead = next;
+            } else {
+                nextFree[previous] = next;
+            }
+
+            if (next == NONE) {
+                freeTail = previous;
+            } else {
+                previousFree[next] = previous;
+            }
+
+            check[cell] = ROOT;
+        }
+
+        private void grow(int capacity) {
+            int old = check.length;
+
+            if (capacity <= old) {
+                return;
+            }
+
+            capacity = Math.max(capacity, old + (old >> 1));
+            base = Arrays.copyOf(base, capacity);
+            check = Arrays.copyOf(check, capacity);
+            fail = Arrays.copyOf(fail, capacity);
+            output = Arrays.copyOf(output, capacity);
+            firstPattern = Arrays.copyOf(firstPattern, capacity);
+            nextFree = Arrays.copyOf(nextFree, capacity);
+            previousFree = Arrays.copyOf(previousFree, capacity);
+
+            Arrays.fill(check, old, capacity, FREE);
+            Arrays.fill(firstPattern, old, capacity, NONE);
+
+            for (int cell = old; cell < capacity; cell++) {
+                previousFree[cell] = freeTail;
+                nextFree[cell] = NONE;
+
+                if (freeTail == NONE) {
+                    freeHead = cell;
+                } else {
+                    nextFree[freeTail] = cell;
+                }
+
+                freeTail = cell;
+            }
+        }
+
+        private int[] sortedIndexes(List<String> patterns) {
+            Integer[] indexes = new Integer[patterns.size()];
+
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = i;
+            }
+
+            Arrays.sort(indexes, (a, b) -> patterns.get(a).compareTo(patterns.get(b)));
+            return Arrays.stream(indexes).mapToInt(Integer::intValue).toArray();
+        }
+
+    }
+
+}
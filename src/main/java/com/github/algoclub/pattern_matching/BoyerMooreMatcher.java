@@ -0,0 +1,145 @@
+package com.github.algoclub.pattern_matching;
+
+import java.util.Arrays;
+
+/**
+ * Compares the pattern right to left and skips by the larger
+ * of the bad char and the good suffix shifts,
+ * so most of the text isn't even read for long patterns.
+ * O(n * m) in the worst case, for very periodic patterns
+ */
+public final class BoyerMooreMatcher implements PatternMatcher {
+
+    @Override
+    public int find(String origin, String pattern) {
+        return compile(pattern).find(origin);
+    }
+
+    /**
+     * Builds both shift tables once
+     */
+    @Override
+    public CompiledPattern compile(String pattern) {
+        return new Compiled(pattern);
+    }
+
+    private static final class Compiled implements CompiledPattern {
+
+        private static final int BAD_CHARS = 256;
+
+        private final char[] pattern;
+        // shift that puts the last occurrence of the char under the text char,
+        // chars share the entry of their low byte, which only makes the shifts shorter
+        private final int[] badChar;
+        // shift after a mismatch at the index, with the suffix after it matched
+        private final int[] goodSuffix;
+
+        Compiled(String pattern) {
+            this.pattern = pattern.toCharArray();
+            this.badChar = badChar(this.pattern);
+            this.goodSuffix = goodSuffix(this.pattern);
+        }
+
+        @Override
+        public int find(String origin) {
+            int m = pattern.length;
+
+            if (m == 0) {
+                return 0;
+            }
+
+            int count = 0;
+            int j = 0;
+
+            while (j <= origin.length() - m) {
+                int i = m - 1;
+
+                while (i >= 0 && pattern[i] == origin.charAt(i + j)) {
+                    i--;
+                }
+
+                if (i < 0) {
+                    count++;
+                    j += goodSuffix[0];
+                } else {
+                    j += Math.max(goodSuffix[i], badChar[origin.charAt(i + j) & (BAD_CHARS - 1)] - m + 1 + i);
+                }
+            }
+
+            return count;
+        }
+
+        private static int[] badChar(char[] pattern) {
+            int m = pattern.length;
+            int[] shifts = new int[BAD_CHARS];
+            Arrays.fill(shifts, m);
+
+            for (int i = 0; i < m - 1; i++) {
+                shifts[pattern[i] & (BAD_CHARS - 1)] = m - 1 - i;
+            }
+
+            return shifts;
+        }
+
+        private static int[] goodSuffix(char[] pattern) {
+            int m = pattern.length;
+            int[] suffixes = suffixes(pattern);
+            int[] shifts = new int[m];
+            Arrays.fill(shifts, m);
+
+            // suffixes of the pattern that are also its prefixes
+            for (int i = m - 1, j = 0; i >= 0; i--) {
+                if (suffixes[i] == i + 1) {
+                    for (; j < m - 1 - i; j++) {
+                        if (shifts[j] == m) {
+                            shifts[j] = m - 1 - i;
+                        }
+                    }
+                }
+            }
+
+            // other occurrences of the matched suffix
+            for (int i = 0; i < m - 1; i++) {
+                shifts[m - 1 - suffixes[i]] = m - 1 - i;
+            }
+
+            return shifts;
+        }
+
+        /**
+         * Length of the longest common suffix of the pattern
+         * and its prefix that ends at the index
+         */
+        private static int[] suffixes(char[] pattern) {
+            int m = pattern.length;
+            int[] suffixes = new int[m];
+
+            if (m == 0) {
+                return suffixes;
+            }
+
+            suffixes[m - 1] = m;
+            int f = 0;
+            int g = m - 1;
+
+            for (int i = m - 2; i >= 0; i--) {
+                if (i > g && suffixes[i + m - 1 - f] < i - g) {
+                    suffixes[i] = suffixes[i + m - 1 - f];
+                } else {
+                    g = Math.min(g, i);
+                    f = i;
+
+                    while (g >= 0 && pattern[g] == pattern[g + m - 1 - f]) {
+                        g--;
+                    }
+
+                    suffixes[i] = f - g;
+                }
+            }
+
+            return suffixes;
+        }
+
+    }
+
+}
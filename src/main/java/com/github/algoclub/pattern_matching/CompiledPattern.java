@@ -0,0 +1,15 @@
+package com.github.algoclub.pattern_matching;
+
+/**
+ * A pattern with all its preprocessing done,
+ * immutable, so one instance can be shared by threads
+ */
+@FunctionalInterface
+public interface CompiledPattern {
+
+    /**
+     * Number of occurrences of the pattern in the text
+     */
+    int find(String origin);
+
+}
@@ -0,0 +1,81 @@
+package com.github.algoclub.pattern_matching;
+
+import java.util.Arrays;
+
+/**
+ * Boyer-Moore with the bad char shift only, taken by the text char
+ * under the last char of the pattern, so the shift table
+ * is the whole preprocessing and a mismatch costs one lookup.
+ * Best for long patterns over big alphabets
+ */
+public final class HorspoolMatcher implements PatternMatcher {
+
+    @Override
+    public int find(String origin, String pattern) {
+        return compile(pattern).find(origin);
+    }
+
+    /**
+     * Builds the shift table once
+     */
+    @Override
+    public CompiledPattern compile(String pattern) {
+        return new Compiled(pattern);
+    }
+
+    private static final class Compiled implements CompiledPattern {
+
+        private static final int SHIFTS = 256;
+
+        private final char[] pattern;
+        // distance from the last occurrence of the char to the end of the pattern,
+        // chars share the entry of their low byte, which only makes the shifts shorter
+        private final int[] shifts;
+
+        Compiled(String pattern) {
+            this.pattern = pattern.toCharArray();
+            this.shifts = new int[SHIFTS];
+
+            int m = this.pattern.length;
+            Arrays.fill(shifts, m);
+
+            for (int i = 0; i < m - 1; i++) {
+                shifts[this.pattern[i] & (SHIFTS - 1)] = m - 1 - i;
+            }
+        }
+
+        @Override
+        public int find(String origin) {
+            int m = pattern.length;
+
+            if (m == 0) {
+                return 0;
+            }
+
+            char last = pattern[m - 1];
+            int count = 0;
+
+            for (int j = 0; j <= origin.length() - m; ) {
+                char c = origin.charAt(j + m - 1);
+
+                if (c == last) {
+                    int i = 0;
+
+                    while (i < m - 1 && pattern[i] == origin.charAt(j + i)) {
+                        i++;
+                    }
+
+                    if (i == m - 1) {
+                        count++;
+                    }
+                }
+
+                j += shifts[c & (SHIFTS - 1)];
+            }
+
+            return count;
+        }
+
+    }
+
+}
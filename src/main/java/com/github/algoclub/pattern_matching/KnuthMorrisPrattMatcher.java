@@ -0,0 +1,78 @@
+package com.github.algoclub.pattern_matching;
+
+/**
+ * Never steps back in the text: on a mismatch the pattern
+ * falls back to its longest border that still matches,
+ * O(n + m) for any pattern
+ */
+public final class KnuthMorrisPrattMatcher implements PatternMatcher {
+
+    @Override
+    public int find(String origin, String pattern) {
+        return compile(pattern).find(origin);
+    }
+
+    /**
+     * Builds the failure table once
+     */
+    @Override
+    public CompiledPattern compile(String pattern) {
+        return new Compiled(pattern);
+    }
+
+    private static final class Compiled implements CompiledPattern {
+
+        private final char[] pattern;
+        // length of the longest proper border of every prefix
+        private final int[] failure;
+
+        Compiled(String pattern) {
+            this.pattern = pattern.toCharArray();
+            this.failure = new int[this.pattern.length];
+
+            for (int i = 1, k = 0; i < this.pattern.length; i++) {
+                while (k > 0 && this.pattern[i] != this.pattern[k]) {
+                    k = failure[k - 1];
+                }
+
+                if (this.pattern[i] == this.pattern[k]) {
+                    k++;
+                }
+
+                failure[i] = k;
+            }
+        }
+
+        @Override
+        public int find(String origin) {
+            int m = pattern.length;
+
+            if (m == 0) {
+                return 0;
+            }
+
+            int count = 0;
+
+            for (int i = 0, k = 0; i < origin.length(); i++) {
+                char c = origin.charAt(i);
+
+                while (k > 0 && c != pattern[k]) {
+                    k = failure[k - 1];
+                }
+
+                if (c == pattern[k]) {
+                    k++;
+                }
+
+                if (k == m) {
+                    count++;
+                    k = failure[k - 1];
+                }
+            }
+
+            return count;
+        }
+
+    }
+
+}
@@ -1,7 +1,19 @@
 package com.github.algoclub.pattern_matching;
 
+/**
+ * Counts the occurrences of a pattern in a text,
+ * overlapping ones included
+ */
 public interface PatternMatcher {
 
     int find(String origin, String pattern);
 
+    /**
+     * Prepares the pattern once to search many texts,
+     * matchers with preprocessing override it to do it here
+     */
+    default CompiledPattern compile(String pattern) {
+        return origin -> find(origin, pattern);
+    }
+
 }
@@ -0,0 +1,81 @@
+package com.github.algoclub.pattern_matching;
+
+/**
+ * Rabin-Karp with the hash taken modulo 2^64,
+ * which is just the overflow of long arithmetic: no % in the rolling loop
+ * and false positives are rare enough that the equals checks are
+ * mostly done on real matches
+ */
+public final class RabinKarp64Matcher implements PatternMatcher {
+
+    // odd, so it's invertible modulo 2^64 and mixes all the bits of the chars
+    private static final long BASE = 0x100000001B3L;
+
+    @Override
+    public int find(String origin, String pattern) {
+        return compile(pattern).find(origin);
+    }
+
+    /**
+     * Hashes the pattern and the weight of its first char once
+     */
+    @Override
+    public CompiledPattern compile(String pattern) {
+        return new Compiled(pattern);
+    }
+
+    private static final class Compiled implements CompiledPattern {
+
+        private final String pattern;
+        private final long patternHash;
+        // BASE^(m - 1), the weight of the char that leaves the window
+        private final long firstWeight;
+
+        Compiled(String pattern) {
+            this.pattern = pattern;
+
+            long hash = 0;
+            long weight = 1;
+
+            for (int i = 0; i < pattern.length(); i++) {
+                hash = hash * BASE + pattern.charAt(i);
+
+                if (i > 0) {
+                    weight *= BASE;
+                }
+            }
+
+            this.patternHash = hash;
+            this.firstWeight = weight;
+        }
+
+        @Override
+        public int find(String origin) {
+            int m = pattern.length();
+
+            if (m == 0 || origin.length() < m) {
+                return 0;
+            }
+
+            long hash = 0;
+
+            for (int i = 0; i < m; i++) {
+                hash = hash * BASE + origin.charAt(i);
+            }
+
+            int count = hash == patternHash && origin.startsWith(pattern, 0) ? 1 : 0;
+
+            for (int i = m; i < origin.length(); i++) {
+                hash = (hash - origin.charAt(i - m) * firstWeight) * BASE + origin.charAt(i);
+
+                if (hash == patternHash && origin.startsWith(pattern, i - m + 1)) {
+                    count++;
+                }
+            }
+
+            return count;
+        }
+
+    }
+
+}
@@ -8,12 +8,14 @@ public final class RabinKarpMatcher implements PatternMatcher {
     private final static int D = 256;
 
     public int find(String origin, String pattern) {
-        if (pattern.length() == 0) {
-            return 0;
-        }
-
-        int counter = 0;
+        return compile(pattern).find(origin);
+    }
 
+    /**
+     * Hashes the pattern and the weight of its first char once
+     */
+    @Override
+    public CompiledPattern compile(String pattern) {
         long patternHashCode = 0;
         int h = 1;
 
@@ -22,40 +24,64 @@ public final class RabinKarpMatcher implements PatternMatcher {
             if (i > 0) h = (h * D) % Q;
         }
 
-        long originHashCode = 0;
+        return new Compiled(pattern, patternHashCode, h);
+    }
 
-        for (int i = 0; i < Math.min(origin.length(), pattern.length()); i++) {
-            originHashCode = (originHashCode * D + origin.charAt(i)) % Q;
-        }
+    private static final class Compiled implements CompiledPattern {
 
+        private final String pattern;
+        private final long patternHashCode;
+        private final int h;
 
-        if ((originHashCode == patternHashCode) && equals(origin, 0, pattern)) {
-            counter++;
+        Compiled(String pattern, long patternHashCode, int h) {
+            this.pattern = pattern;
+            this.patternHashCode = patternHashCode;
+            this.h = h;
         }
 
-        for (int i = pattern.length(); i < origin.length(); i++) {
-            originHashCode = (((originHashCode - origin.charAt(i - pattern.length()) * h) * D + origin.charAt(i)) % Q + Q) % Q;
+        @Override
+        public int find(String origin) {
+            if (pattern.length() == 0) {
+                return 0;
+            }
+
+            int counter = 0;
+            long originHashCode = 0;
+
+            for (int i = 0; i < Math.min(origin.length(), pattern.length()); i++) {
+                originHashCode = (originHashCode * D + origin.charAt(i)) % Q;
+            }
+
 
-            if (originHashCode == patternHashCode && equals(origin, i - pattern.length() + 1, pattern)) {
+            if ((originHashCode == patternHashCode) && equals(origin, 0, pattern)) {
                 counter++;
             }
-        }
 
-        return counter;
-    }
+            for (int i = pattern.length(); i < origin.length(); i++) {
+                originHashCode = (((originHashCode - origin.charAt(i - pattern.length()) * h) * D + origin.charAt(i)) % Q + Q) % Q;
+
+                if (originHashCode == patternHashCode && equals(origin, i - pattern.length() + 1, pattern)) {
+                    counter++;
+                }
+            }
 
-    private boolean equals(String origin, int offset, String pattern) {
-        if (origin.length() - offset < pattern.length()) {
-            return false;
+            return counter;
         }
 
-        for (int i = 0; i < pattern.length(); i++) {
-            if (pattern.charAt(i) != origin.charAt(i + offset)) {
+        private boolean equals(String origin, int offset, String pattern) {
+            if (origin.length() - offset < pattern.length()) {
                 return false;
             }
+
+            for (int i = 0; i < pattern.length(); i++) {
+                if (pattern.charAt(i) != origin.charAt(i + offset)) {
+                    return false;
+                }
+            }
+
+            return true;
         }
 
-        return true;
     }
 
 }
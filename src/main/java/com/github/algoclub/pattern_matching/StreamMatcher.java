@@ -0,0 +1,176 @@
+package com.github.algoclub.pattern_matching;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Horspool over bytes for inputs that don't fit in memory.
+ * Channels and streams are read into one fixed buffer,
+ * files are mapped a window at a time.
+ * The state of the scan is just the next position to try,
+ * so the bytes from it to the end of a buffer are carried over
+ * to the next one and matches across the boundary are found.
+ * A String pattern is matched by its UTF-8 bytes, which in valid
+ * UTF-8 text are found only where the pattern chars are
+ */
+public final class StreamMatcher {
+
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private final byte[] pattern;
+    // distance from the last occurrence of the byte to the end of the pattern
+    private final int[] shifts;
+    private final int bufferSize;
+    private final int windowSize;
+
+    public StreamMatcher(String pattern) {
+        this(pattern.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public StreamMatcher(byte[] pattern) {
+        this(pattern, DEFAULT_BUFFER_SIZE);
+    }
+
+    public StreamMatcher(byte[] pattern, int bufferSize) {
+        this(pattern, bufferSize, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Buffers and windows get at least twice the pattern length,
+     * so every one of them moves the scan forward
+     */
+    StreamMatcher(byte[] pattern, int bufferSize, int windowSize) {
+        this.pattern = pattern.clone();
+        this.bufferSize = Math.max(bufferSize, 2 * pattern.length);
+        this.windowSize = Math.max(windowSize, 2 * pattern.length);
+        this.shifts = new int[256];
+
+        int m = pattern.length;
+        Arrays.fill(shifts, m);
+
+        for (int i = 0; i < m - 1; i++) {
+            shifts[pattern[i] & 0xFF] = m - 1 - i;
+        }
+    }
+
+    public long count(ReadableByteChannel channel) throws IOException {
+        long[] count = new long[1];
+        find(channel, offset -> count[0]++);
+        return count[0];
+    }
+
+    public long count(InputStream input) throws IOException {
+        return count(Channels.newChannel(input));
+    }
+
+    public long count(Path file) throws IOException {
+        long[] count = new long[1];
+        find(file, offset -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Reports the offset of every match from the current position of the channel,
+     * reads it to the end. The channel should be blocking,
+     * as a read of no bytes would make the scan spin
+     */
+    public void find(ReadableByteChannel channel, LongConsumer listener) throws IOException {
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("The channel should be in blocking mode");
+        }
+
+        if (pattern.length == 0) {
+            return;
+        }
+
+        // on the heap, as a direct buffer per call would hold off-heap memory until a GC
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        // offset of the start of the buffer
+        long offset = 0;
+
+        while (channel.read(buffer) != -1) {
+            int limit = buffer.position();
+            int next = scan(buffer, limit, offset, listener);
+
+            buffer.limit(limit);
+            buffer.position(next);
+            buffer.compact();
+            offset += next;
+        }
+    }
+
+    public void find(InputStream input, LongConsumer listener) throws IOException {
+        find(Channels.newChannel(input), listener);
+    }
+
+    /**
+     * Reports the offset of every match in the file,
+     * windows of it are mapped instead of read
+     */
+    public void find(Path file, LongConsumer listener) throws IOException {
+        if (pattern.length == 0) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+
+            while (size - start >= pattern.length) {
+                int length = (int) Math.min(windowSize, size - start);
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                int next = scan(window, length, start, listener);
+
+                if (start + length == size) {
+                    break;
+                }
+
+                start += next;
+            }
+        }
+    }
+
+    /**
+     * Tries the positions from the start of the buffer while the pattern fits before the limit,
+     * returns the first position that didn't fit
+     */
+    private int scan(ByteBuffer buffer, int limit, long offset, LongConsumer listener) {
+        int m = pattern.length;
+        byte last = pattern[m - 1];
+        int j = 0;
+
+        while (j <= limit - m) {
+            byte b = buffer.get(j + m - 1);
+
+            if (b == last && matches(buffer, j)) {
+                listener.accept(offset + j);
+            }
+
+            j += shifts[b & 0xFF];
+        }
+
+        return j;
+    }
+
+    private boolean matches(ByteBuffer buffer, int from) {
+        for (int i = 0; i < pattern.length - 1; i++) {
+            if (buffer.get(from + i) != pattern[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
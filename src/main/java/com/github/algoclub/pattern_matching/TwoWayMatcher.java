@@ -0,0 +1,181 @@
+package com.github.algoclub.pattern_matching;
+
+/**
+ * Crochemore-Perrin two way matching: the pattern is cut at a critical
+ * factorization, the right part is compared left to right and the left
+ * part right to left, and a mismatch shifts past it.
+ * O(n + m) in the worst case with O(1) extra memory,
+ * so it suits the periodic patterns and small alphabets
+ * where the skip tables of Boyer-Moore give short shifts
+ */
+public final class TwoWayMatcher implements PatternMatcher {
+
+    @Override
+    public int find(String origin, String pattern) {
+        return compile(pattern).find(origin);
+    }
+
+    /**
+     * Finds the critical factorization and the period once
+     */
+    @Override
+    public CompiledPattern compile(String pattern) {
+        return new Compiled(pattern);
+    }
+
+    private static final class Compiled implements CompiledPattern {
+
+        private final char[] pattern;
+        // last index of the left part of the factorization, -1 if it's empty
+        private final int critical;
+        private final int period;
+        // the left part occurs again a period later,
+        // so the prefix matched before a shift by the period is remembered
+        private final boolean periodic;
+
+        Compiled(String pattern) {
+            this.pattern = pattern.toCharArray();
+
+            int[] periods = new int[2];
+            int byOrder = maximalSuffix(this.pattern, false, periods, 0);
+            int byReverseOrder = maximalSuffix(this.pattern, true, periods, 1);
+            int critical = byOrder > byReverseOrder ? byOrder : byReverseOrder;
+            int period = byOrder > byReverseOrder ? periods[0] : periods[1];
+
+            this.critical = critical;
+            this.periodic = isPeriodic(this.pattern, critical, period);
+            // otherwise the period is longer than both parts
+            this.period = periodic ? period : Math.max(critical + 1, this.pattern.length - critical - 1) + 1;
+        }
+
+        @Override
+        public int find(String origin) {
+            int m = pattern.length;
+
+            if (m == 0) {
+                return 0;
+            }
+
+            return periodic ? findPeriodic(origin) : findNonPeriodic(origin);
+        }
+
+        private int findPeriodic(String origin) {
+            int m = pattern.length;
+            int count = 0;
+            int memory = -1;
+
+            for (int j = 0; j <= origin.length() - m; ) {
+                int i = Math.max(critical, memory) + 1;
+
+                while (i < m && pattern[i] == origin.charAt(i + j)) {
+                    i++;
+                }
+
+                if (i < m) {
+                    j += i - critical;
+                    memory = -1;
+                    continue;
+                }
+
+                i = critical;
+
+                while (i > memory && pattern[i] == origin.charAt(i + j)) {
+                    i--;
+                }
+
+                if (i <= memory) {
+                    count++;
+                }
+
+                j += period;
+                memory = m - period - 1;
+            }
+
+            return count;
+        }
+
+        private int findNonPeriodic(String origin) {
+            int m = pattern.length;
+            int count = 0;
+
+            for (int j = 0; j <= origin.length() - m; ) {
+                int i = critical + 1;
+
+                while (i < m && pattern[i] == origin.charAt(i + j)) {
+                    i++;
+                }
+
+                if (i < m) {
+                    j += i - critical;
+                    continue;
+                }
+
+                i = critical;
+
+                while (i >= 0 && pattern[i] == origin.charAt(i + j)) {
+                    i--;
+                }
+
+                if (i < 0) {
+                    count++;
+                }
+
+                j += period;
+            }
+
+            return count;
+        }
+
+        /**
+         * Start of the maximal suffix minus one, by the char order or its reverse,
+         * and the period of that suffix into periods[at]
+         */
+        private static int maximalSuffix(char[] pattern, boolean reverse, int[] periods, int at) {
+            int suffix = -1;
+            int j = 0;
+            int k = 1;
+            int period = 1;
+
+            while (j + k < pattern.length) {
+                char a = pattern[j + k];
+                char b = pattern[suffix + k];
+
+                if (reverse ? a > b : a < b) {
+                    j += k;
+                    k = 1;
+                    period = j - suffix;
+                } else if (a == b) {
+                    if (k != period) {
+                        k++;
+                    } else {
+                        j += period;
+                        k = 1;
+                    }
+                } else {
+                    suffix = j;
+                    j = suffix + 1;
+                    k = period = 1;
+                }
+            }
+
+            periods[at] = period;
+            return suffix;
+        }
+
+        private static boolean isPeriodic(char[] pattern, int critical, int period) {
+            if (period + critical + 1 > pattern.length) {
+                return false;
+            }
+
+            for (int i = 0; i <= critical; i++) {
+                if (pattern[i] != pattern[i + period]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.github.algoclub.sorts;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Picks between {@link RadixSort} and {@link TimSort}
+ * by the size of the array, the type of the keys
+ * and how presorted the array already is
+ */
+final class AdaptiveSort {
+
+    enum Engine {
+        RADIX_SORT,
+        TIM_SORT
+    }
+
+    // radix passes don't pay off on small arrays
+    private static final int INT_RADIX_THRESHOLD = 1 << 10;
+    private static final int LONG_RADIX_THRESHOLD = 1 << 12;
+    private static final int KEY_RADIX_THRESHOLD = 1 << 8;
+
+    // TimSort wins when there is less than one descent per this many elements
+    private static final int PRESORTED_RATIO = 64;
+
+    private static final Comparator<byte[]> UNSIGNED_BYTES = Arrays::compareUnsigned;
+
+    private AdaptiveSort() {
+    }
+
+    /**
+     * Sorts the array and returns
+     * the engine that has been used
+     */
+    static Engine sort(int[] array) {
+        if (array.length < INT_RADIX_THRESHOLD || isPresorted(array)) {
+            TimSort.sort(array);
+            return Engine.TIM_SORT;
+        }
+
+        RadixSort.sort(array);
+        return Engine.RADIX_SORT;
+    }
+
+    static Engine sort(long[] array) {
+        if (array.length < LONG_RADIX_THRESHOLD || isPresorted(array)) {
+            TimSort.sort(array);
+            return Engine.TIM_SORT;
+        }
+
+        RadixSort.sort(array);
+        return Engine.RADIX_SORT;
+    }
+
+    static Engine sort(byte[][] array) {
+        if (array.length < KEY_RADIX_THRESHOLD || isPresorted(array, UNSIGNED_BYTES)) {
+            TimSort.sort(array, UNSIGNED_BYTES);
+            return Engine.TIM_SORT;
+        }
+
+        RadixSort.sort(array);
+        return Engine.RADIX_SORT;
+    }
+
+    static Engine sort(String[] array) {
+        if (array.length < KEY_RADIX_THRESHOLD || isPresorted(array, Comparator.naturalOrder())) {
+            TimSort.sort(array, Comparator.naturalOrder());
+            return Engine.TIM_SORT;
+        }
+
+        RadixSort.sort(array);
+        return Engine.RADIX_SORT;
+    }
+
+    /**
+     * Few descents (or few ascents) mean few long runs
+     * that TimSort merges in close to linear time
+     */
+    private static boolean isPresorted(int[] array) {
+        int limit = array.length / PRESORTED_RATIO;
+        int descents = 0;
+        int ascents = 0;
+
+        for (int i = 1; i < array.length && (descents <= limit || ascents <= limit); i++) {
+            if (array[i] < array[i - 1]) {
+                descents++;
+            } else if (array[i] > array[i - 1]) {
+                ascents++;
+            }
+        }
+
+        return descents <= limit || ascents <= limit;
+    }
+
+    private static boolean isPresorted(long[] array) {
+        int limit = array.length / PRESORTED_RATIO;
+        int descents = 0;
+        int ascents = 0;
+
+        for (int i = 1; i < array.length && (descents <= limit || ascents <= limit); i++) {
+            if (array[i] < array[i - 1]) {
+                descents++;
+            } else if (array[i] > array[i - 1]) {
+                ascents++;
+            }
+        }
+
+        return descents <= limit || ascents <= limit;
+    }
+
+    private static <T> boolean isPresorted(T[] array, Comparator<T> comparator) {
+        int limit = array.length / PRESORTED_RATIO;
+        int descents = 0;
+        int ascents = 0;
+
+        for (int i = 1; i < array.length && (descents <= limit || ascents <= limit); i++) {
+            int result = comparator.compare(array[i], array[i - 1]);
+
+            if (result < 0) {
+                descents++;
+            } else if (result > 0) {
+                ascents++;
+            }
+        }
+
+        return descents <= limit || ascents <= limit;
+    }
+
+}
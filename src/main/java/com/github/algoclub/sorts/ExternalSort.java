@@ -0,0 +1,291 @@
+package com.github.algoclub.sorts;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorts files that don't fit in memory:
+ * chunks of records that fit into the memory budget
+ * are sorted by {@link TimSort} and written to temporary runs,
+ * then the runs are merged at most fanIn at a time.
+ * Equal records keep their order.
+ * The memory budget covers the records of a chunk
+ * with their array headers, the references to them
+ * in the chunk and in the merge buffer of the sort,
+ * and the read and write buffers. Buffers are at least 4 KiB,
+ * so merging fanIn runs may take more than a small budget.
+ * Instances are not thread safe
+ */
+final class ExternalSort {
+
+    static final int DEFAULT_FAN_IN = 64;
+
+    // array header of a record, the record is padded to 8 bytes
+    private static final int RECORD_HEADER = 16;
+    // up to two slots of the chunk, that grows by doubling,
+    // and up to two of the merge buffer of the sort, that grows the same way
+    private static final int RECORD_REFERENCES = 4 * 8;
+    private static final int MIN_BUFFER_SIZE = 1 << 12;
+    private static final int MAX_BUFFER_SIZE = 1 << 20;
+
+    private final RecordFormat format;
+    private final Comparator<byte[]> comparator;
+    private final long memoryBudget;
+    private final Path tempDirectory;
+    private final int fanIn;
+
+    private final TimSort<byte[]> sorter;
+    private final List<Path> temporaryFiles = new ArrayList<>();
+
+    /**
+     * Records are compared as unsigned bytes
+     * if the comparator is null
+     */
+    ExternalSort(RecordFormat format, Comparator<byte[]> comparator, long memoryBudget, Path tempDirectory, int fanIn) {
+        if (memoryBudget < 4L * MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Memory budget should be at least %d bytes, got %d", 4 * MIN_BUFFER_SIZE, memoryBudget));
+        }
+
+        if (fanIn < 2) {
+            throw new IllegalArgumentException(String.format("Fan-in should be at least 2, got %d", fanIn));
+        }
+
+        this.format = format;
+        this.comparator = comparator == null ? Arrays::compareUnsigned : comparator;
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+        this.fanIn = fanIn;
+        this.sorter = new TimSort<>(this.comparator);
+    }
+
+    /**
+     * Sorts records of the input file
+     * into the output file
+     */
+    void sort(Path input, Path output) throws IOException {
+        try {
+            List<Path> runs = writeSortedRuns(input);
+
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+
+                // merges only neighbour runs to keep equal records in order
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+
+                    Path run = createTemporaryFile();
+                    merge(group, run);
+                    delete(group);
+
+                    merged.add(run);
+                }
+
+                runs = merged;
+            }
+
+            if (runs.size() == 1) {
+                Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                merge(runs, output);
+            }
+        } finally {
+            // the files that are left after a failure
+            for (Path file : temporaryFiles) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ignored) {
+                }
+            }
+
+            temporaryFiles.clear();
+        }
+    }
+
+    /**
+     * Splits the input into sorted runs
+     * that fit into the memory budget
+     */
+    private List<Path> writeSortedRuns(Path input) throws IOException {
+        List<Path> runs = new ArrayList<>();
+
+        int bufferSize = bufferSize(16);
+        long chunkBudget = memoryBudget - 2L * bufferSize;
+
+        byte[][] chunk = new byte[(int) Math.min(1024, chunkBudget / (RECORD_HEADER + RECORD_REFERENCES))][];
+
+        try (RecordReader reader = new RecordReader(input, format, bufferSize)) {
+            byte[] record = reader.next();
+
+            while (record != null) {
+                int size = 0;
+                long used = 0;
+
+                while (record != null && (size == 0 || used + memoryOf(record) <= chunkBudget)) {
+                    if (size == chunk.length) {
+                        chunk = Arrays.copyOf(chunk, size * 2);
+                    }
+
+                    chunk[size++] = record;
+                    used += memoryOf(record);
+
+                    record = reader.next();
+                }
+
+                sorter.sort(chunk, 0, size);
+
+                Path run = createTemporaryFile();
+
+                try (RecordWriter writer = new RecordWriter(run, format, bufferSize)) {
+                    for (int i = 0; i < size; i++) {
+                        writer.write(chunk[i]);
+                    }
+                }
+
+                Arrays.fill(chunk, 0, size, null);
+                runs.add(run);
+            }
+        }
+
+        return runs;
+    }
+
+    /**
+     * K-way merge of the runs
+     * with a binary heap of run indexes,
+     * equal records are taken from the earlier run first
+     */
+    private void merge(List<Path> runs, Path output) throws IOException {
+        int bufferSize = bufferSize(runs.size() + 1);
+
+        RecordReader[] readers = new RecordReader[runs.size()];
+        byte[][] heads = new byte[runs.size()][];
+        int[] heap = new int[runs.size()];
+        int heapSize = 0;
+
+        try (RecordWriter writer = new RecordWriter(output, format, bufferSize)) {
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = new RecordReader(runs.get(i), format, bufferSize);
+                heads[i] = readers[i].next();
+
+                if (heads[i] != null) {
+                    heap[heapSize++] = i;
+                }
+            }
+
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(heap, heapSize, heads, i);
+            }
+
+            while (heapSize > 0) {
+                int top = heap[0];
+
+                writer.write(heads[top]);
+                heads[top] = readers[top].next();
+
+                if (heads[top] == null) {
+                    heap[0] = heap[--heapSize];
+                }
+
+                siftDown(heap, heapSize, heads, 0);
+            }
+        } finally {
+            close(readers);
+        }
+    }
+
+    private void siftDown(int[] heap, int heapSize, byte[][] heads, int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+
+            if (left < heapSize && less(heads, heap[left], heap[smallest])) {
+                smallest = left;
+            }
+
+            if (right < heapSize && less(heads, heap[right], heap[smallest])) {
+                smallest = right;
+            }
+
+            if (smallest == i) {
+                return;
+            }
+
+            int temp = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = temp;
+
+            i = smallest;
+        }
+    }
+
+    private boolean less(byte[][] heads, int a, int b) {
+        int result = comparator.compare(heads[a], heads[b]);
+        return result < 0 || (result == 0 && a < b);
+    }
+
+    /**
+     * Heap taken by a record of a chunk
+     */
+    private static long memoryOf(byte[] record) {
+        return ((record.length + RECORD_HEADER + 7L) & ~7L) + RECORD_REFERENCES;
+    }
+
+    /**
+     * Splits the memory budget
+     * between the given number of buffers
+     */
+    private int bufferSize(int buffers) {
+        long size = memoryBudget / buffers;
+        return (int) Math.max(MIN_BUFFER_SIZE, Math.min(MAX_BUFFER_SIZE, size));
+    }
+
+    private Path createTemporaryFile() throws IOException {
+        Path file = Files.createTempFile(tempDirectory, "run-", ".tmp");
+        temporaryFiles.add(file);
+        return file;
+    }
+
+    private static void delete(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void close(RecordReader[] readers) throws IOException {
+        IOException exception = null;
+
+        for (RecordReader reader : readers) {
+            if (reader == null) {
+                continue;
+            }
+
+            try {
+                reader.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.github.algoclub.sorts;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps items sorted while batches are appended:
+ * every batch becomes new runs on top of the {@link TimSort}
+ * run stack that lives between calls,
+ * so the sorted prefix is never scanned again.
+ * Equal items keep the order they were appended in.
+ * Instances are not thread safe
+ */
+final class IncrementalTimSort<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final TimSort<T> sorter;
+
+    private T[] items = (T[]) new Object[INITIAL_CAPACITY];
+    private int size = 0;
+
+    IncrementalTimSort(Comparator<T> comparator) {
+        this.sorter = new TimSort<>(comparator);
+    }
+
+    void add(T item) {
+        ensureCapacity(size + 1);
+
+        items[size] = item;
+        sorter.addRuns(items, size, size + 1);
+        size++;
+    }
+
+    /**
+     * Appends the batch, pending runs are merged
+     * by the TimSort rules, so the cost depends on the batch
+     * and the merges it causes, not on the number of items
+     */
+    void append(T[] batch) {
+        ensureCapacity(size + batch.length);
+
+        System.arraycopy(batch, 0, items, size, batch.length);
+        sorter.addRuns(items, size, size + batch.length);
+        size += batch.length;
+    }
+
+    /**
+     * Merges pending runs and returns
+     * a read-only view of the sorted items,
+     * the view is valid until the next change
+     */
+    List<T> sorted() {
+        sorter.mergeRuns(items);
+        return Collections.unmodifiableList(Arrays.asList(items).subList(0, size));
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+        sorter.reset();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > items.length) {
+            items = Arrays.copyOf(items, Math.max(capacity, items.length * 2));
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.github.algoclub.sorts;
+
+/**
+ * {@link TimSort} specialized for int arrays,
+ * uses the same run detection, galloping
+ * and merge rules without boxing
+ */
+final class IntTimSort {
+
+    private static final int GALLOP_THRESHOLD = 7;
+
+    private final RunStack stack = new RunStack(this::merge);
+
+    private int[] array;
+    private int[] buffer = new int[0];
+
+    /**
+     * Sorts the array, the instance can be reused
+     * and keeps its merge buffer between calls
+     */
+    void sort(int[] array) {
+        this.array = array;
+
+        try {
+            int minRun = RunStack.getMinRun(array.length);
+
+            int index = 0;
+
+            while (index < array.length) {
+                int runLength = calculateRunAndReverseIfNeeded(index, array.length);
+
+                if (runLength < minRun) {
+                    int leftElements = array.length - (index + runLength);
+                    runLength += Math.min(leftElements, minRun - runLength);
+                }
+
+                binaryInsertionSort(index, index + runLength);
+                stack.push(index, runLength);
+                stack.collapse();
+
+                index += runLength;
+            }
+
+            stack.forceCollapse();
+        } finally {
+            stack.clear();
+            this.array = null;
+        }
+    }
+
+    /**
+     * Merges two following runs,
+     * copies only the left one
+     */
+    private void merge(int index, int leftLength, int rightLength) {
+        if (buffer.length < leftLength) {
+            buffer = new int[Math.max(leftLength, buffer.length * 2)];
+        }
+
+        int[] copy = buffer;
+        System.arraycopy(array, index, copy, 0, leftLength);
+
+        int result = index;
+
+        int left = 0;
+        int right = index + leftLength;
+        int rightEnd = right + rightLength;
+
+        int lcount = 0;
+        int rcount = 0;
+
+        while (left < leftLength && right < rightEnd) {
+            if (array[right] < copy[left]) {
+                array[result++] = array[right++];
+
+                lcount = 0;
+                rcount++;
+
+                if (rcount >= GALLOP_THRESHOLD) {
+                    rcount = 0;
+
+                    int nextIndex = gallop(array, right, rightEnd, copy[left]);
+                    System.arraycopy(array, right, array, result, nextIndex - right);
+
+                    result += nextIndex - right;
+                    right = nextIndex;
+                }
+            } else {
+                array[result++] = copy[left++];
+
+                rcount = 0;
+                lcount++;
+
+                if (lcount >= GALLOP_THRESHOLD) {
+                    lcount = 0;
+
+                    int nextIndex = gallop(copy, left, leftLength, array[right]);
+                    System.arraycopy(copy, left, array, result, nextIndex - left);
+
+                    result += nextIndex - left;
+                    left = nextIndex;
+                }
+            }
+        }
+
+        // the rest of the right run is already in place
+        System.arraycopy(copy, left, array, result, leftLength - left);
+    }
+
+    /**
+     * Trying to find the last index of the element
+     * in the given array [low, high)
+     * that would be smaller than the given target
+     */
+    private static int gallop(int[] a, int low, int high, int target) {
+        int left = low;
+        int right = high - 1;
+
+        int lastKnownIndex = low;
+
+        while (left <= right) {
+            int middle = left + (right - left) / 2;
+
+            if (a[middle] < target) {
+                lastKnownIndex = middle + 1;
+                left = middle + 1;
+            } else {
+                right = middle - 1;
+            }
+        }
+
+        return lastKnownIndex;
+    }
+
+    private int calculateRunAndReverseIfNeeded(int low, int high) {
+        if (low + 1 == high) {
+            return 1;
+        }
+
+        int index = low + 1;
+
+        // descending order
+        if (array[index] < array[index - 1]) {
+            while (index < high && array[index] < array[index - 1]) {
+                index++;
+            }
+
+            reverse(low, index - 1);
+        } else {
+            // ascending order
+            while (index < high && array[index] >= array[index - 1]) {
+                index++;
+            }
+        }
+
+        return (index - low);
+    }
+
+    /**
+     * Reverses array [low, high]
+     */
+    private void reverse(int low, int high) {
+        while (low < high) {
+            int temp = array[low];
+            array[low] = array[high];
+            array[high] = temp;
+
+            low++;
+            high--;
+        }
+    }
+
+    /**
+     * O(n lg n) comparisons
+     * O(n^2) runtime complexity
+     */
+    private void binaryInsertionSort(int low, int high) {
+        for (int i = low + 1; i < high; i++) {
+            int value = array[i];
+
+            int left = low;
+            int right = i - 1;
+
+            int insertionIndex = i;
+
+            while (left <= right) {
+                int middle = left + (right - left) / 2;
+
+                if (value < array[middle]) {
+                    insertionIndex = middle;
+                    right = middle - 1;
+                } else {
+                    left = middle + 1;
+                }
+            }
+
+            System.arraycopy(array, insertionIndex, array, insertionIndex + 1, i - insertionIndex);
+            array[insertionIndex] = value;
+        }
+    }
+
+}
@@ -0,0 +1,488 @@
+package com.github.algoclub.sorts;
+
+import java.lang.reflect.Array;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Stable merge of already sorted sources
+ * with a {@link LoserTree}: equal items are taken
+ * from the earlier source first.
+ * Once the same source wins several times in a row
+ * its items are compared only with the runner-up,
+ * array sources are galloped through like in {@link TimSort}
+ */
+final class KWayMerge {
+
+    private static final int GALLOP_THRESHOLD = 7;
+
+    private KWayMerge() {
+    }
+
+    static <T> T[] merge(T[][] sources, Comparator<? super T> comparator) {
+        int length = 0;
+
+        for (T[] source : sources) {
+            length += source.length;
+        }
+
+        T[] result = (T[]) Array.newInstance(sources.getClass().getComponentType().getComponentType(), length);
+        int[] size = {0};
+
+        new ArrayMerge<>(sources, comparator).run((source, from, to) -> {
+            System.arraycopy(source, from, result, size[0], to - from);
+            size[0] += to - from;
+        });
+
+        return result;
+    }
+
+    /**
+     * Passes the merged items to the consumer
+     * without building the merged array
+     */
+    static <T> void merge(T[][] sources, Comparator<? super T> comparator, Consumer<? super T> consumer) {
+        new ArrayMerge<>(sources, comparator).run((source, from, to) -> {
+            for (int i = from; i < to; i++) {
+                consumer.accept(source[i]);
+            }
+        });
+    }
+
+    /**
+     * Lazy merge, the sources are read
+     * only as far as the result is
+     */
+    static <T> Iterator<T> merge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+        return new IteratorMerge<>(sources, comparator);
+    }
+
+    static long[] merge(long[]... sources) {
+        int length = 0;
+
+        for (long[] source : sources) {
+            length += source.length;
+        }
+
+        long[] result = new long[length];
+        new LongArrayMerge(sources).run(result);
+
+        return result;
+    }
+
+    static int[] merge(int[]... sources) {
+        int length = 0;
+
+        for (int[] source : sources) {
+            length += source.length;
+        }
+
+        int[] result = new int[length];
+        new IntArrayMerge(sources).run(result);
+
+        return result;
+    }
+
+    private interface RangeConsumer<T> {
+        void accept(T[] source, int from, int to);
+    }
+
+    private static final class ArrayMerge<T> extends LoserTree {
+
+        private final T[][] sources;
+        private final int[] positions;
+        private final Comparator<? super T> comparator;
+
+        ArrayMerge(T[][] sources, Comparator<? super T> comparator) {
+            super(sources.length);
+
+            this.sources = sources;
+            this.positions = new int[sources.length];
+            this.comparator = comparator;
+        }
+
+        @Override
+        boolean exhausted(int source) {
+            return positions[source] == sources[source].length;
+        }
+
+        @Override
+        boolean less(int a, int b) {
+            if (exhausted(a)) {
+                return false;
+            }
+
+            if (exhausted(b)) {
+                return true;
+            }
+
+            int result = comparator.compare(sources[a][positions[a]], sources[b][positions[b]]);
+            return result < 0 || (result == 0 && a < b);
+        }
+
+        void run(RangeConsumer<T> consumer) {
+            build();
+
+            int last = -1;
+            int wins = 0;
+
+            for (int winner = winner(); winner != -1; winner = winner()) {
+                wins = winner == last ? wins + 1 : 1;
+                last = winner;
+
+                T[] source = sources[winner];
+                int from = positions[winner];
+                int to = from + 1;
+
+                if (wins >= GALLOP_THRESHOLD) {
+                    wins = 0;
+
+                    int challenger = runnerUp();
+
+                    if (challenger == -1 || exhausted(challenger)) {
+                        to = source.length;
+                    } else {
+                        to = gallop(source, from + 1, sources[challenger][positions[challenger]], winner < challenger);
+                    }
+                }
+
+                consumer.accept(source, from, to);
+                positions[winner] = to;
+
+                replay();
+            }
+        }
+
+        /**
+         * First index from the given one
+         * which item doesn't go before the target,
+         * searches with growing steps and then binary
+         */
+        private int gallop(T[] source, int from, T target, boolean winsTies) {
+            int step = 1;
+            int low = from;
+            int high = from;
+
+            while (high < source.length && goesBefore(source[high], target, winsTies)) {
+                low = high + 1;
+                high = from + step;
+                step *= 2;
+            }
+
+            high = Math.min(high, source.length);
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (goesBefore(source[middle], target, winsTies)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        private boolean goesBefore(T item, T target, boolean winsTies) {
+            int result = comparator.compare(item, target);
+            return result < 0 || (result == 0 && winsTies);
+        }
+    }
+
+    private static final class IteratorMerge<T> extends LoserTree implements Iterator<T> {
+
+        private final List<? extends Iterator<? extends T>> sources;
+        private final T[] heads;
+        private final boolean[] exhausted;
+        private final Comparator<? super T> comparator;
+
+        private int last = -1;
+        private int wins = 0;
+        // the best of the others while the same source keeps winning
+        private int challenger = -1;
+
+        IteratorMerge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+            super(sources.size());
+
+            this.sources = sources;
+            this.heads = (T[]) new Object[sources.size()];
+            this.exhausted = new boolean[sources.size()];
+            this.comparator = comparator;
+
+            for (int i = 0; i < sources.size(); i++) {
+                advance(i);
+            }
+
+            build();
+        }
+
+        @Override
+        boolean exhausted(int source) {
+            return exhausted[source];
+        }
+
+        @Override
+        boolean less(int a, int b) {
+            if (exhausted[a]) {
+                return false;
+            }
+
+            if (exhausted[b]) {
+                return true;
+            }
+
+            int result = comparator.compare(heads[a], heads[b]);
+            return result < 0 || (result == 0 && a < b);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return winner() != -1;
+        }
+
+        @Override
+        public T next() {
+            int winner = winner();
+
+            if (winner == -1) {
+                throw new NoSuchElementException();
+            }
+
+            T item = heads[winner];
+            advance(winner);
+
+            wins = winner == last ? wins + 1 : 1;
+            last = winner;
+
+            if (wins == GALLOP_THRESHOLD) {
+                challenger = runnerUp();
+            }
+
+            // beating the runner-up means beating
+            // every loser on the path, the tree stays valid
+            if (wins < GALLOP_THRESHOLD || challenger == -1 || !less(winner, challenger)) {
+                if (wins >= GALLOP_THRESHOLD) {
+                    wins = 0;
+                }
+
+                replay();
+            }
+
+            return item;
+        }
+
+        private void advance(int source) {
+            Iterator<? extends T> iterator = sources.get(source);
+
+            if (iterator.hasNext()) {
+                heads[source] = iterator.next();
+            } else {
+                heads[source] = null;
+                exhausted[source] = true;
+            }
+        }
+    }
+
+    private static final class LongArrayMerge extends LoserTree {
+
+        private final long[][] sources;
+        private final int[] positions;
+
+        LongArrayMerge(long[][] sources) {
+            super(sources.length);
+
+            this.sources = sources;
+            this.positions = new int[sources.length];
+        }
+
+        @Override
+        boolean exhausted(int source) {
+            return positions[source] == sources[source].length;
+        }
+
+        @Override
+        boolean less(int a, int b) {
+            if (exhausted(a)) {
+                return false;
+            }
+
+            if (exhausted(b)) {
+                return true;
+            }
+
+            long x = sources[a][positions[a]];
+            long y = sources[b][positions[b]];
+            return x < y || (x == y && a < b);
+        }
+
+        void run(long[] result) {
+            build();
+
+            int size = 0;
+            int last = -1;
+            int wins = 0;
+
+            for (int winner = winner(); winner != -1; winner = winner()) {
+                wins = winner == last ? wins + 1 : 1;
+                last = winner;
+
+                long[] source = sources[winner];
+                int from = positions[winner];
+                int to = from + 1;
+
+                if (wins >= GALLOP_THRESHOLD) {
+                    wins = 0;
+
+                    int challenger = runnerUp();
+
+                    if (challenger == -1 || exhausted(challenger)) {
+                        to = source.length;
+                    } else {
+                        // equal items go first only from the earlier source
+                        to = gallop(source, from + 1, sources[challenger][positions[challenger]], winner < challenger);
+                    }
+                }
+
+                System.arraycopy(source, from, result, size, to - from);
+                size += to - from;
+                positions[winner] = to;
+
+                replay();
+            }
+        }
+
+        /**
+         * First index from the given one
+         * which item doesn't go before the target
+         */
+        private static int gallop(long[] source, int from, long target, boolean winsTies) {
+            int step = 1;
+            int low = from;
+            int high = from;
+
+            while (high < source.length && (source[high] < target || (winsTies && source[high] == target))) {
+                low = high + 1;
+                high = from + step;
+                step *= 2;
+            }
+
+            high = Math.min(high, source.length);
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (source[middle] < target || (winsTies && source[middle] == target)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+    }
+
+    private static final class IntArrayMerge extends LoserTree {
+
+        private final int[][] sources;
+        private final int[] positions;
+
+        IntArrayMerge(int[][] sources) {
+            super(sources.length);
+
+            this.sources = sources;
+            this.positions = new int[sources.length];
+        }
+
+        @Override
+        boolean exhausted(int source) {
+            return positions[source] == sources[source].length;
+        }
+
+        @Override
+        boolean less(int a, int b) {
+            if (exhausted(a)) {
+                return false;
+            }
+
+            if (exhausted(b)) {
+                return true;
+            }
+
+            int x = sources[a][positions[a]];
+            int y = sources[b][positions[b]];
+            return x < y || (x == y && a < b);
+        }
+
+        void run(int[] result) {
+            build();
+
+            int size = 0;
+            int last = -1;
+            int wins = 0;
+
+            for (int winner = winner(); winner != -1; winner = winner()) {
+                wins = winner == last ? wins + 1 : 1;
+                last = winner;
+
+                int[] source = sources[winner];
+                int from = positions[winner];
+                int to = from + 1;
+
+                if (wins >= GALLOP_THRESHOLD) {
+                    wins = 0;
+
+                    int challenger = runnerUp();
+
+                    if (challenger == -1 || exhausted(challenger)) {
+                        to = source.length;
+                    } else {
+                        // equal items go first only from the earlier source
+                        to = gallop(source, from + 1, sources[challenger][positions[challenger]], winner < challenger);
+                    }
+                }
+
+                System.arraycopy(source, from, result, size, to - from);
+                size += to - from;
+                positions[winner] = to;
+
+                replay();
+            }
+        }
+
+        /**
+         * First index from the given one
+         * which item doesn't go before the target
+         */
+        private static int gallop(int[] source, int from, int target, boolean winsTies) {
+            int step = 1;
+            int low = from;
+            int high = from;
+
+            while (high < source.length && (source[high] < target || (winsTies && source[high] == target))) {
+                low = high + 1;
+                high = from + step;
+                step *= 2;
+            }
+
+            high = Math.min(high, source.length);
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (source[middle] < target || (winsTies && source[middle] == target)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+    }
+
+}
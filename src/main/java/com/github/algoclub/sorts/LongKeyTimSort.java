@@ -0,0 +1,236 @@
+package com.github.algoclub.sorts;
+
+import java.util.Arrays;
+
+/**
+ * {@link TimSort} over precomputed long keys,
+ * every move of a key is repeated
+ * for the item at the same index,
+ * so items are compared as plain longs
+ */
+final class LongKeyTimSort<T> {
+
+    private static final int GALLOP_THRESHOLD = 7;
+
+    private final RunStack stack = new RunStack(this::merge);
+
+    private long[] keys;
+    private T[] items;
+
+    private long[] keyBuffer = new long[0];
+    private T[] itemBuffer = (T[]) new Object[0];
+    // the biggest part of the item buffer used by the current sort
+    private int bufferUsed = 0;
+
+    /**
+     * Sorts the items by their keys,
+     * keys[i] should be the key of items[i]
+     */
+    void sort(long[] keys, T[] items) {
+        if (keys.length != items.length) {
+            throw new IllegalArgumentException(
+                    String.format("Got %d keys for %d items", keys.length, items.length));
+        }
+
+        this.keys = keys;
+        this.items = items;
+
+        try {
+            int minRun = RunStack.getMinRun(keys.length);
+
+            int index = 0;
+
+            while (index < keys.length) {
+                int runLength = calculateRunAndReverseIfNeeded(index, keys.length);
+
+                if (runLength < minRun) {
+                    int leftElements = keys.length - (index + runLength);
+                    runLength += Math.min(leftElements, minRun - runLength);
+                }
+
+                binaryInsertionSort(index, index + runLength);
+                stack.push(index, runLength);
+                stack.collapse();
+
+                index += runLength;
+            }
+
+            stack.forceCollapse();
+        } finally {
+            // doesn't keep the sorted items reachable
+            Arrays.fill(itemBuffer, 0, bufferUsed, null);
+            bufferUsed = 0;
+            stack.clear();
+            this.keys = null;
+            this.items = null;
+        }
+    }
+
+    /**
+     * Merges two following runs,
+     * copies only the left one
+     */
+    private void merge(int index, int leftLength, int rightLength) {
+        if (keyBuffer.length < leftLength) {
+            int length = Math.max(leftLength, keyBuffer.length * 2);
+            keyBuffer = new long[length];
+            itemBuffer = (T[]) new Object[length];
+        }
+
+        System.arraycopy(keys, index, keyBuffer, 0, leftLength);
+        System.arraycopy(items, index, itemBuffer, 0, leftLength);
+        bufferUsed = Math.max(bufferUsed, leftLength);
+
+        int result = index;
+
+        int left = 0;
+        int right = index + leftLength;
+        int rightEnd = right + rightLength;
+
+        int lcount = 0;
+        int rcount = 0;
+
+        while (left < leftLength && right < rightEnd) {
+            if (keys[right] < keyBuffer[left]) {
+                keys[result] = keys[right];
+                items[result++] = items[right++];
+
+                lcount = 0;
+                rcount++;
+
+                if (rcount >= GALLOP_THRESHOLD) {
+                    rcount = 0;
+
+                    int nextIndex = gallop(keys, right, rightEnd, keyBuffer[left]);
+                    System.arraycopy(keys, right, keys, result, nextIndex - right);
+                    System.arraycopy(items, right, items, result, nextIndex - right);
+
+                    result += nextIndex - right;
+                    right = nextIndex;
+                }
+            } else {
+                keys[result] = keyBuffer[left];
+                items[result++] = itemBuffer[left++];
+
+                rcount = 0;
+                lcount++;
+
+                if (lcount >= GALLOP_THRESHOLD) {
+                    lcount = 0;
+
+                    int nextIndex = gallop(keyBuffer, left, leftLength, keys[right]);
+                    System.arraycopy(keyBuffer, left, keys, result, nextIndex - left);
+                    System.arraycopy(itemBuffer, left, items, result, nextIndex - left);
+
+                    result += nextIndex - left;
+                    left = nextIndex;
+                }
+            }
+        }
+
+        // the rest of the right run is already in place
+        System.arraycopy(keyBuffer, left, keys, result, leftLength - left);
+        System.arraycopy(itemBuffer, left, items, result, leftLength - left);
+    }
+
+    /**
+     * Trying to find the last index of the element
+     * in the given array [low, high)
+     * that would be smaller than the given target
+     */
+    private static int gallop(long[] a, int low, int high, long target) {
+        int left = low;
+        int right = high - 1;
+
+        int lastKnownIndex = low;
+
+        while (left <= right) {
+            int middle = left + (right - left) / 2;
+
+            if (a[middle] < target) {
+                lastKnownIndex = middle + 1;
+                left = middle + 1;
+            } else {
+                right = middle - 1;
+            }
+        }
+
+        return lastKnownIndex;
+    }
+
+    private int calculateRunAndReverseIfNeeded(int low, int high) {
+        if (low + 1 == high) {
+            return 1;
+        }
+
+        int index = low + 1;
+
+        // descending order
+        if (keys[index] < keys[index - 1]) {
+            while (index < high && keys[index] < keys[index - 1]) {
+                index++;
+            }
+
+            reverse(low, index - 1);
+        } else {
+            // ascending order
+            while (index < high && keys[index] >= keys[index - 1]) {
+                index++;
+            }
+        }
+
+        return (index - low);
+    }
+
+    /**
+     * Reverses both arrays [low, high]
+     */
+    private void reverse(int low, int high) {
+        while (low < high) {
+            long key = keys[low];
+            keys[low] = keys[high];
+            keys[high] = key;
+
+            T item = items[low];
+            items[low] = items[high];
+            items[high] = item;
+
+            low++;
+            high--;
+        }
+    }
+
+    /**
+     * O(n lg n) comparisons
+     * O(n^2) runtime complexity
+     */
+    private void binaryInsertionSort(int low, int high) {
+        for (int i = low + 1; i < high; i++) {
+            long key = keys[i];
+            T item = items[i];
+
+            int left = low;
+            int right = i - 1;
+
+            int insertionIndex = i;
+
+            while (left <= right) {
+                int middle = left + (right - left) / 2;
+
+                if (key < keys[middle]) {
+                    insertionIndex = middle;
+                    right = middle - 1;
+                } else {
+                    left = middle + 1;
+                }
+            }
+
+            System.arraycopy(keys, insertionIndex, keys, insertionIndex + 1, i - insertionIndex);
+            System.arraycopy(items, insertionIndex, items, insertionIndex + 1, i - insertionIndex);
+
+            keys[insertionIndex] = key;
+            items[insertionIndex] = item;
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.github.algoclub.sorts;
+
+import java.util.Arrays;
+
+/**
+ * Tournament tree over k sources:
+ * every inner node keeps the loser of its match,
+ * the overall winner is kept in the root.
+ * Replacing the head of the winner replays
+ * only the matches on its path, log k comparisons
+ */
+abstract class LoserTree {
+
+    private static final int EMPTY = -1;
+
+    // tree[0] is the winner, tree[1..k) are the losers
+    private final int[] tree;
+    private final int k;
+
+    LoserTree(int k) {
+        this.k = k;
+        this.tree = new int[Math.max(k, 1)];
+    }
+
+    /**
+     * Whether the head of source a goes before the head of source b,
+     * the exhausted source never does
+     */
+    abstract boolean less(int a, int b);
+
+    abstract boolean exhausted(int source);
+
+    /**
+     * Plays all the matches,
+     * a source parks in the first empty node
+     * and waits for its opponent there
+     */
+    void build() {
+        if (k == 0) {
+            tree[0] = EMPTY;
+            return;
+        }
+
+        Arrays.fill(tree, EMPTY);
+
+        for (int source = 0; source < k; source++) {
+            int winner = source;
+
+            for (int node = (source + k) / 2; node > 0 && winner != EMPTY; node /= 2) {
+                if (tree[node] == EMPTY) {
+                    tree[node] = winner;
+                    winner = EMPTY;
+                } else if (less(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+
+            if (winner != EMPTY) {
+                tree[0] = winner;
+            }
+        }
+    }
+
+    /**
+     * The source with the smallest head,
+     * -1 if every source is exhausted
+     */
+    int winner() {
+        int winner = tree[0];
+        return winner == EMPTY || exhausted(winner) ? EMPTY : winner;
+    }
+
+    /**
+     * Replays the matches of the winner
+     * after its head has changed
+     */
+    void replay() {
+        int winner = tree[0];
+
+        for (int node = (winner + k) / 2; node > 0; node /= 2) {
+            if (less(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+
+        tree[0] = winner;
+    }
+
+    /**
+     * The best of the sources that lost to the winner,
+     * that is the second best source overall,
+     * -1 if there is only one source
+     */
+    int runnerUp() {
+        int best = EMPTY;
+
+        for (int node = (tree[0] + k) / 2; node > 0; node /= 2) {
+            if (best == EMPTY || less(tree[node], best)) {
+                best = tree[node];
+            }
+        }
+
+        return best;
+    }
+
+}
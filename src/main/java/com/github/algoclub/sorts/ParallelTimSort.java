@@ -0,0 +1,199 @@
+package com.github.algoclub.sorts;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the array into chunks
+ * sorted by {@link TimSort} on a fork/join pool
+ * and merges them back in parallel.
+ * Equal elements keep their order
+ */
+final class ParallelTimSort<T> {
+
+    static final int DEFAULT_CUTOFF = 1 << 13;
+
+    private final T[] array;
+    private final T[] buffer;
+    private final Comparator<T> comparator;
+    private final int cutoff;
+
+    private ParallelTimSort(T[] array, Comparator<T> comparator, int cutoff) {
+        this.array = array;
+        this.buffer = (T[]) new Object[array.length];
+        this.comparator = comparator;
+        this.cutoff = cutoff;
+    }
+
+    static <T> void sort(T[] array, Comparator<T> comparator, int cutoff, ForkJoinPool pool) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException(String.format("Cutoff should be positive, got %d", cutoff));
+        }
+
+        if (array.length <= cutoff || pool.getParallelism() == 1) {
+            new TimSort<>(comparator).sort(array, 0, array.length);
+            return;
+        }
+
+        ParallelTimSort<T> algo = new ParallelTimSort<>(array, comparator, cutoff);
+        pool.invoke(algo.new SortTask(0, array.length, false));
+    }
+
+    /**
+     * Sorts [low, high) part of the array,
+     * the result is placed into the buffer
+     * when toBuffer is set
+     */
+    private final class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int low;
+        private final int high;
+        private final boolean toBuffer;
+
+        SortTask(int low, int high, boolean toBuffer) {
+            this.low = low;
+            this.high = high;
+            this.toBuffer = toBuffer;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= cutoff) {
+                new TimSort<>(comparator).sort(array, low, high);
+
+                if (toBuffer) {
+                    System.arraycopy(array, low, buffer, low, high - low);
+                }
+                return;
+            }
+
+            int middle = (low + high) >>> 1;
+
+            // halves are sorted into the other array
+            // so merging them brings the result back
+            invokeAll(new SortTask(low, middle, !toBuffer), new SortTask(middle, high, !toBuffer));
+
+            T[] source = toBuffer ? array : buffer;
+            T[] target = toBuffer ? buffer : array;
+
+            new MergeTask(source, target, low, middle, middle, high, low).compute();
+        }
+    }
+
+    /**
+     * Merges source[leftLow, leftHigh) and source[rightLow, rightHigh)
+     * into the target starting from index
+     */
+    private final class MergeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final T[] source;
+        private final T[] target;
+        private final int leftLow;
+        private final int leftHigh;
+        private final int rightLow;
+        private final int rightHigh;
+        private final int index;
+
+        MergeTask(T[] source, T[] target, int leftLow, int leftHigh, int rightLow, int rightHigh, int index) {
+            this.source = source;
+            this.target = target;
+            this.leftLow = leftLow;
+            this.leftHigh = leftHigh;
+            this.rightLow = rightLow;
+            this.rightHigh = rightHigh;
+            this.index = index;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftHigh - leftLow;
+            int rightLength = rightHigh - rightLow;
+
+            // runs of one element can't be split any further
+            if (leftLength + rightLength <= Math.max(cutoff, 2) || leftLength == 0 || rightLength == 0) {
+                merge();
+                return;
+            }
+
+            int leftMiddle;
+            int rightMiddle;
+
+            // splits the longer run in the middle
+            // and finds the matching place in the other one,
+            // equal elements of the left run always go first
+            if (leftLength >= rightLength) {
+                leftMiddle = (leftLow + leftHigh) >>> 1;
+                rightMiddle = lowerBound(rightLow, rightHigh, source[leftMiddle]);
+            } else {
+                rightMiddle = (rightLow + rightHigh) >>> 1;
+                leftMiddle = upperBound(leftLow, leftHigh, source[rightMiddle]);
+            }
+
+            int middleIndex = index + (leftMiddle - leftLow) + (rightMiddle - rightLow);
+
+            invokeAll(
+                    new MergeTask(source, target, leftLow, leftMiddle, rightLow, rightMiddle, index),
+                    new MergeTask(source, target, leftMiddle, leftHigh, rightMiddle, rightHigh, middleIndex)
+            );
+        }
+
+        private void merge() {
+            int left = leftLow;
+            int right = rightLow;
+            int result = index;
+
+            while (left < leftHigh && right < rightHigh) {
+                if (comparator.compare(source[right], source[left]) < 0) {
+                    target[result++] = source[right++];
+                } else {
+                    target[result++] = source[left++];
+                }
+            }
+
+            System.arraycopy(source, left, target, result, leftHigh - left);
+            System.arraycopy(source, right, target, result + leftHigh - left, rightHigh - right);
+        }
+
+        /**
+         * First index in [low, high)
+         * which element is not smaller than the value
+         */
+        private int lowerBound(int low, int high, T value) {
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (comparator.compare(source[middle], value) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * First index in [low, high)
+         * which element is bigger than the value
+         */
+        private int upperBound(int low, int high, T value) {
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (comparator.compare(value, source[middle]) < 0) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+
+            return low;
+        }
+    }
+
+}
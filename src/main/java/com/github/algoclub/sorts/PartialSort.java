@@ -0,0 +1,248 @@
+package com.github.algoclub.sorts;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Finds the k smallest items with a bounded max-heap,
+ * O(n log k) instead of sorting everything.
+ * Stable variants break ties by the position in the input,
+ * so the result equals the first k items after {@link TimSort}
+ */
+final class PartialSort {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private PartialSort() {
+    }
+
+    /**
+     * Returns the k smallest items in sorted order,
+     * the array is not changed
+     */
+    static <T> T[] topK(T[] array, int k, Comparator<T> comparator) {
+        return topK(array, k, comparator, true);
+    }
+
+    static <T> T[] topK(T[] array, int k, Comparator<T> comparator, boolean stable) {
+        BoundedHeap<T> heap = select(array, k, comparator, stable);
+
+        T[] result = Arrays.copyOf(array, heap.size);
+        heap.drainSorted(result, null);
+
+        return result;
+    }
+
+    /**
+     * Moves the k smallest items in sorted order
+     * to the beginning of the array,
+     * the rest of the items follow in no particular order
+     */
+    static <T> void sortPrefix(T[] array, int k, Comparator<T> comparator) {
+        sortPrefix(array, k, comparator, true);
+    }
+
+    static <T> void sortPrefix(T[] array, int k, Comparator<T> comparator, boolean stable) {
+        BoundedHeap<T> heap = select(array, k, comparator, stable);
+
+        int size = heap.size;
+        T[] prefix = Arrays.copyOf(array, size);
+        long[] positions = new long[size];
+        heap.drainSorted(prefix, positions);
+
+        // moves the rest to the end going backwards,
+        // the write index never falls behind the read one
+        TimSort.sort(positions);
+
+        int write = array.length - 1;
+        int selected = size - 1;
+
+        for (int read = array.length - 1; read >= 0; read--) {
+            if (selected >= 0 && positions[selected] == read) {
+                selected--;
+                continue;
+            }
+
+            array[write--] = array[read];
+        }
+
+        System.arraycopy(prefix, 0, array, 0, size);
+    }
+
+    /**
+     * Keeps only k items in memory
+     * while going through the iterator
+     */
+    static <T> List<T> topK(Iterator<T> iterator, int k, Comparator<T> comparator, boolean stable) {
+        // the number of items is unknown, so the heap starts small and grows up to k
+        BoundedHeap<T> heap = new BoundedHeap<>(k, Math.min(k, INITIAL_CAPACITY),
+                TimSort.orNaturalOrder(comparator), stable);
+
+        long position = 0;
+
+        while (iterator.hasNext()) {
+            heap.offer(iterator.next(), position++);
+        }
+
+        T[] result = (T[]) new Object[heap.size];
+        heap.drainSorted(result, null);
+
+        return Arrays.asList(result);
+    }
+
+    static <T> List<T> topK(Stream<T> stream, int k, Comparator<T> comparator, boolean stable) {
+        return topK(stream.iterator(), k, comparator, stable);
+    }
+
+    private static <T> BoundedHeap<T> select(T[] array, int k, Comparator<T> comparator, boolean stable) {
+        int capacity = Math.min(k, array.length);
+        BoundedHeap<T> heap = new BoundedHeap<>(capacity, capacity, TimSort.orNaturalOrder(comparator), stable);
+
+        for (int i = 0; i < array.length; i++) {
+            heap.offer(array[i], i);
+        }
+
+        return heap;
+    }
+
+    /**
+     * Max-heap of the k smallest items seen so far,
+     * the position of every item is kept for tie-breaking
+     */
+    private static final class BoundedHeap<T> {
+
+        private final int capacity;
+        private final Comparator<T> comparator;
+        private final boolean stable;
+
+        private T[] items;
+        private long[] positions;
+        private int size = 0;
+
+        /**
+         * The arrays start at the initial capacity
+         * and grow up to the capacity when they are full
+         */
+        BoundedHeap(int capacity, int initialCapacity, Comparator<T> comparator, boolean stable) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException(String.format("k should not be negative, got %d", capacity));
+            }
+
+            this.capacity = capacity;
+            this.items = (T[]) new Object[Math.max(initialCapacity, 0)];
+            this.positions = new long[items.length];
+            this.comparator = comparator;
+            this.stable = stable;
+        }
+
+        void offer(T item, long position) {
+            if (size < capacity) {
+                if (size == items.length) {
+                    grow();
+                }
+
+                items[size] = item;
+                positions[size] = position;
+                siftUp(size++);
+                return;
+            }
+
+            // most items are bigger than
+            // the current k-th one and are dropped here
+            if (size == 0 || !less(item, position, items[0], positions[0])) {
+                return;
+            }
+
+            items[0] = item;
+            positions[0] = position;
+            siftDown(0, size);
+        }
+
+        /**
+         * Empties the heap into the given arrays
+         * in ascending order
+         */
+        void drainSorted(T[] result, long[] resultPositions) {
+            while (size > 0) {
+                size--;
+
+                result[size] = items[0];
+                if (resultPositions != null) {
+                    resultPositions[size] = positions[0];
+                }
+
+                swap(0, size);
+                items[size] = null;
+                siftDown(0, size);
+            }
+        }
+
+        private void grow() {
+            int length = (int) Math.min(Math.min(capacity, MAX_ARRAY_LENGTH),
+                    Math.max(2L * items.length, INITIAL_CAPACITY));
+
+            items = Arrays.copyOf(items, length);
+            positions = Arrays.copyOf(positions, length);
+        }
+
+        private boolean less(T a, long positionA, T b, long positionB) {
+            int result = comparator.compare(a, b);
+            return result < 0 || (stable && result == 0 && positionA < positionB);
+        }
+
+        private boolean less(int a, int b) {
+            return less(items[a], positions[a], items[b], positions[b]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+
+                if (!less(parent, i)) {
+                    return;
+                }
+
+                swap(parent, i);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int length) {
+            while (true) {
+                int biggest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+
+                if (left < length && less(biggest, left)) {
+                    biggest = left;
+                }
+
+                if (right < length && less(biggest, right)) {
+                    biggest = right;
+                }
+
+                if (biggest == i) {
+                    return;
+                }
+
+                swap(i, biggest);
+                i = biggest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            T item = items[a];
+            items[a] = items[b];
+            items[b] = item;
+
+            long position = positions[a];
+            positions[a] = positions[b];
+            positions[b] = position;
+        }
+    }
+
+}
@@ -0,0 +1,277 @@
+package com.github.algoclub.sorts;
+
+import java.util.Arrays;
+
+/**
+ * LSD radix sort for int and long keys,
+ * MSD radix sort for byte[] and String keys.
+ * Every variant is stable
+ */
+final class RadixSort {
+
+    private static final int RADIX = 256;
+    private static final int DIGIT_MASK = RADIX - 1;
+    // below this size MSD buckets are finished by insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * Digit of the key at the given position,
+     * -1 after the end of the key
+     */
+    interface Digits<T> {
+        int digit(T key, int position);
+    }
+
+    static final Digits<byte[]> BYTES = (key, position) -> position < key.length ? key[position] & DIGIT_MASK : -1;
+
+    // every char is split into the high and the low byte
+    private static final Digits<String> CHARS = (key, position) -> {
+        if (position >= 2 * key.length()) {
+            return -1;
+        }
+
+        char c = key.charAt(position >> 1);
+        return (position & 1) == 0 ? c >>> 8 : c & DIGIT_MASK;
+    };
+
+    private RadixSort() {
+    }
+
+    /**
+     * Sorts ints byte by byte
+     * from the lowest one, passes where
+     * all keys have the same byte are skipped
+     */
+    static void sort(int[] array) {
+        int n = array.length;
+
+        if (n < 2) {
+            return;
+        }
+
+        int passes = Integer.BYTES;
+        int[][] counts = new int[passes][RADIX + 1];
+
+        // the sign bit is flipped so negative values go first
+        for (int value : array) {
+            int key = value ^ Integer.MIN_VALUE;
+
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass][((key >>> (pass * 8)) & DIGIT_MASK) + 1]++;
+            }
+        }
+
+        int[] from = array;
+        int[] to = new int[n];
+
+        for (int pass = 0; pass < passes; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * 8;
+
+            if (count[(((from[0] ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK) + 1] == n) {
+                continue;
+            }
+
+            for (int r = 0; r < RADIX; r++) {
+                count[r + 1] += count[r];
+            }
+
+            for (int value : from) {
+                to[count[((value ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK]++] = value;
+            }
+
+            int[] temp = from;
+            from = to;
+            to = temp;
+        }
+
+        if (from != array) {
+            System.arraycopy(from, 0, array, 0, n);
+        }
+    }
+
+    static void sort(long[] array) {
+        int n = array.length;
+
+        if (n < 2) {
+            return;
+        }
+
+        int passes = Long.BYTES;
+        int[][] counts = new int[passes][RADIX + 1];
+
+        // the sign bit is flipped so negative values go first
+        for (long value : array) {
+            long key = value ^ Long.MIN_VALUE;
+
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass][(int) ((key >>> (pass * 8)) & DIGIT_MASK) + 1]++;
+            }
+        }
+
+        long[] from = array;
+        long[] to = new long[n];
+
+        for (int pass = 0; pass < passes; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * 8;
+
+            if (count[(int) (((from[0] ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK) + 1] == n) {
+                continue;
+            }
+
+            for (int r = 0; r < RADIX; r++) {
+                count[r + 1] += count[r];
+            }
+
+            for (long value : from) {
+                to[count[(int) (((value ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK)]++] = value;
+            }
+
+            long[] temp = from;
+            from = to;
+            to = temp;
+        }
+
+        if (from != array) {
+            System.arraycopy(from, 0, array, 0, n);
+        }
+    }
+
+    /**
+     * Sorts keys as unsigned bytes,
+     * same order as {@link Arrays#compareUnsigned(byte[], byte[])}
+     */
+    static void sort(byte[][] array) {
+        sort(array, BYTES);
+    }
+
+    /**
+     * Sorts strings by chars,
+     * same order as {@link String#compareTo(String)}
+     */
+    static void sort(String[] array) {
+        sort(array, CHARS);
+    }
+
+    private static <T> void sort(T[] array, Digits<T> digits) {
+        T[] buffer = array.clone();
+        sort(array, buffer, 0, array.length, 0, digits);
+    }
+
+    /**
+     * Distributes [low, high) part of the array
+     * by the digit at the given position
+     * and sorts every bucket by the next digit
+     */
+    private static <T> void sort(T[] array, T[] buffer, int low, int high, int position, Digits<T> digits) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(array, low, high, position, digits);
+            return;
+        }
+
+        // bucket 0 is for the keys that have ended
+        int[] count = new int[RADIX + 2];
+
+        while (true) {
+            for (int i = low; i < high; i++) {
+                count[digits.digit(array[i], position) + 2]++;
+            }
+
+            // the common prefix doesn't need any moves
+            int first = digits.digit(array[low], position) + 2;
+
+            if (count[first] != high - low) {
+                break;
+            }
+
+            if (first == 1) {
+                return;
+            }
+
+            count[first] = 0;
+            position = commonPrefix(array, low, high, position + 1, digits);
+        }
+
+        for (int r = 0; r <= RADIX; r++) {
+            count[r + 1] += count[r];
+        }
+
+        for (int i = low; i < high; i++) {
+            buffer[count[digits.digit(array[i], position) + 1]++] = array[i];
+        }
+
+        System.arraycopy(buffer, 0, array, low, high - low);
+
+        // now count[r] is the end of the bucket r
+        for (int r = 1; r <= RADIX; r++) {
+            if (count[r] - count[r - 1] > 1) {
+                sort(array, buffer, low + count[r - 1], low + count[r], position + 1, digits);
+            }
+        }
+    }
+
+    /**
+     * End of the prefix that all the keys
+     * in [low, high) share from the given position,
+     * one pass over the keys instead of a count per digit
+     */
+    static <T> int commonPrefix(T[] array, int low, int high, int position, Digits<T> digits) {
+        T first = array[low];
+        int end = Integer.MAX_VALUE;
+
+        for (int i = low + 1; i < high && end > position; i++) {
+            int p = position;
+
+            while (p < end) {
+                int digit = digits.digit(first, p);
+
+                if (digit == -1 || digit != digits.digit(array[i], p)) {
+                    break;
+                }
+
+                p++;
+            }
+
+            end = p;
+        }
+
+        return end;
+    }
+
+    /**
+     * Sorts [low, high) part of the array,
+     * the keys there share the first position digits
+     */
+    static <T> void insertionSort(T[] array, int low, int high, int position, Digits<T> digits) {
+        for (int i = low + 1; i < high; i++) {
+            T value = array[i];
+            int j = i;
+
+            while (j > low && less(value, array[j - 1], position, digits)) {
+                array[j] = array[j - 1];
+                j--;
+            }
+
+            array[j] = value;
+        }
+    }
+
+    static <T> boolean less(T a, T b, int position, Digits<T> digits) {
+        while (true) {
+            int x = digits.digit(a, position);
+            int y = digits.digit(b, position);
+
+            if (x != y) {
+                return x < y;
+            }
+
+            if (x == -1) {
+                return false;
+            }
+
+            position++;
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.github.algoclub.sorts;
+
+/**
+ * Layout of the records in a file:
+ * either every record has the same width
+ * or it is prefixed with its length
+ * as a 4 byte big-endian int
+ */
+final class RecordFormat {
+
+    private static final int LENGTH_PREFIXED = -1;
+
+    private final int width;
+
+    private RecordFormat(int width) {
+        this.width = width;
+    }
+
+    static RecordFormat fixedWidth(int width) {
+        if (width <= 0) {
+            throw new IllegalArgumentException(String.format("Record width should be positive, got %d", width));
+        }
+
+        return new RecordFormat(width);
+    }
+
+    static RecordFormat lengthPrefixed() {
+        return new RecordFormat(LENGTH_PREFIXED);
+    }
+
+    boolean isFixedWidth() {
+        return width != LENGTH_PREFIXED;
+    }
+
+    int width() {
+        return width;
+    }
+
+    /**
+     * Bytes taken by the record in a file
+     */
+    int sizeOf(byte[] record) {
+        return isFixedWidth() ? width : Integer.BYTES + record.length;
+    }
+
+}
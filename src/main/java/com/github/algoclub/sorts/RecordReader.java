@@ -0,0 +1,95 @@
+package com.github.algoclub.sorts;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads records one by one
+ * through a fixed size buffer
+ */
+final class RecordReader implements Closeable {
+
+    private final FileChannel channel;
+    private final RecordFormat format;
+    private final ByteBuffer buffer;
+
+    private boolean endOfFile = false;
+
+    RecordReader(Path path, RecordFormat format, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, Integer.BYTES));
+        this.buffer.flip();
+    }
+
+    /**
+     * Returns the next record
+     * or null at the end of the file
+     */
+    byte[] next() throws IOException {
+        if (!ensure(1)) {
+            return null;
+        }
+
+        int length;
+
+        if (format.isFixedWidth()) {
+            length = format.width();
+        } else {
+            if (!ensure(Integer.BYTES)) {
+                throw new EOFException("Truncated record length");
+            }
+
+            length = buffer.getInt();
+
+            if (length < 0) {
+                throw new IOException(String.format("Negative record length %d", length));
+            }
+        }
+
+        byte[] record = new byte[length];
+        int offset = 0;
+
+        while (offset < length) {
+            if (!ensure(1)) {
+                throw new EOFException(String.format("Truncated record, read %d bytes of %d", offset, length));
+            }
+
+            int count = Math.min(buffer.remaining(), length - offset);
+            buffer.get(record, offset, count);
+            offset += count;
+        }
+
+        return record;
+    }
+
+    /**
+     * Makes at least count bytes available in the buffer,
+     * returns false if the file ends earlier
+     */
+    private boolean ensure(int count) throws IOException {
+        if (buffer.remaining() >= count) {
+            return true;
+        }
+
+        buffer.compact();
+
+        while (buffer.position() < count && !endOfFile) {
+            endOfFile = channel.read(buffer) < 0;
+        }
+
+        buffer.flip();
+        return buffer.remaining() >= count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.github.algoclub.sorts;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes records one by one
+ * through a fixed size buffer
+ */
+final class RecordWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final RecordFormat format;
+    private final ByteBuffer buffer;
+
+    RecordWriter(Path path, RecordFormat format, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, Integer.BYTES));
+    }
+
+    void write(byte[] record) throws IOException {
+        if (format.isFixedWidth()) {
+            if (record.length != format.width()) {
+                throw new IllegalArgumentException(
+                        String.format("Record length %d doesn't match the width %d", record.length, format.width()));
+            }
+        } else {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+
+            buffer.putInt(record.length);
+        }
+
+        int offset = 0;
+
+        while (offset < record.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+
+            int count = Math.min(buffer.remaining(), record.length - offset);
+            buffer.put(record, offset, count);
+            offset += count;
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.github.algoclub.sorts;
+
+import java.util.Arrays;
+
+/**
+ * Stack of pending runs
+ * stored in primitive arrays,
+ * applies the same merge rules
+ * as {@link TimSort}
+ */
+final class RunStack {
+
+    /**
+     * Merges two following runs:
+     * [index, index + leftLength) and
+     * [index + leftLength, index + leftLength + rightLength)
+     */
+    interface Merger {
+        void merge(int index, int leftLength, int rightLength);
+    }
+
+    private static final int MIN_RUN_LENGTH = 64;
+    private static final int INITIAL_CAPACITY = 40;
+
+    private final Merger merger;
+
+    private int[] indexes = new int[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    RunStack(Merger merger) {
+        this.merger = merger;
+    }
+
+    /**
+     * Calculates min run length
+     * for the array of the given length
+     */
+    static int getMinRun(int n) {
+        if (n < MIN_RUN_LENGTH) {
+            return n;
+        }
+
+        int offset = 0;
+
+        while (n > MIN_RUN_LENGTH) {
+            offset |= (n & 1);
+            n = n >> 1;
+        }
+
+        return n + offset;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int index(int i) {
+        return indexes[i];
+    }
+
+    int length(int i) {
+        return lengths[i];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void push(int index, int length) {
+        if (size == indexes.length) {
+            indexes = Arrays.copyOf(indexes, size * 2);
+            lengths = Arrays.copyOf(lengths, size * 2);
+        }
+
+        indexes[size] = index;
+        lengths[size] = length;
+        size++;
+    }
+
+    /**
+     * Trying to merge
+     * entities in the stack
+     */
+    void collapse() {
+        while (size > 1) {
+            int x = lengths[size - 1];
+            int y = lengths[size - 2];
+
+            if (y <= x) {
+                mergeAt(size - 2);
+                continue;
+            }
+
+            if (size == 2) {
+                break;
+            }
+
+            int z = lengths[size - 3];
+
+            if (z <= x + y) {
+                if (x < z) {
+                    mergeAt(size - 2);
+                } else {
+                    mergeAt(size - 3);
+                }
+                continue;
+            }
+
+            break;
+        }
+    }
+
+    /**
+     * Leaves only one
+     * entity in the stack
+     * and trying to merge everything
+     * together
+     */
+    void forceCollapse() {
+        while (size > 1) {
+            if (size == 2) {
+                mergeAt(0);
+                continue;
+            }
+
+            int x = lengths[size - 1];
+            int y = lengths[size - 2];
+            int z = lengths[size - 3];
+
+            if (Math.abs(z - y) < Math.abs(y - x)) {
+                mergeAt(size - 3);
+            } else {
+                mergeAt(size - 2);
+            }
+        }
+    }
+
+    /**
+     * Merges runs i and i + 1
+     * and replaces them with the result
+     */
+    private void mergeAt(int i) {
+        int index = indexes[i];
+        int leftLength = lengths[i];
+        int rightLength = lengths[i + 1];
+
+        merger.merge(index, leftLength, rightLength);
+
+        lengths[i] = leftLength + rightLength;
+
+        if (i == size - 3) {
+            indexes[i + 1] = indexes[i + 2];
+            lengths[i + 1] = lengths[i + 2];
+        }
+
+        size--;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.github.algoclub.sorts;
+
+import java.util.Arrays;
+
+/**
+ * Three-way radix quicksort for String and byte[] keys:
+ * keys are partitioned by a single char at a time,
+ * so the shared prefix of the keys is looked at
+ * once per partition and not in every comparison.
+ * The default variant is in place and not stable,
+ * the stable one is the MSD {@link RadixSort}
+ */
+final class StringSort {
+
+    // below this size partitions are finished by insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    // a digit is a whole char, bytes of byte[] keys are the digits of RadixSort
+    private static final RadixSort.Digits<String> CHARS = (key, position) -> position < key.length() ? key.charAt(position) : -1;
+
+    private StringSort() {
+    }
+
+    /**
+     * Same order as {@link String#compareTo(String)}
+     */
+    static void sort(String[] array) {
+        sort(array, false);
+    }
+
+    /**
+     * The stable variant keeps equal keys
+     * in the original order, like {@link TimSort#sort(Object[])},
+     * but needs a buffer of the array size
+     */
+    static void sort(String[] array, boolean stable) {
+        if (stable) {
+            RadixSort.sort(array);
+        } else {
+            sort(array, 0, array.length, 0, CHARS);
+        }
+    }
+
+    /**
+     * Same order as {@link Arrays#compareUnsigned(byte[], byte[])}
+     */
+    static void sort(byte[][] array) {
+        sort(array, false);
+    }
+
+    static void sort(byte[][] array, boolean stable) {
+        if (stable) {
+            RadixSort.sort(array);
+        } else {
+            sort(array, 0, array.length, 0, RadixSort.BYTES);
+        }
+    }
+
+    /**
+     * Sorts [low, high) part of the array,
+     * the keys there share the first position chars.
+     * Recurses for the smaller and the bigger keys,
+     * the keys equal to the pivot go on with the next char
+     */
+    private static <T> void sort(T[] array, int low, int high, int position, RadixSort.Digits<T> digits) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            int pivot = digits.digit(array[medianOfThree(array, low, high, position, digits)], position);
+
+            // [low, lt) < pivot, [lt, i) == pivot, (gt, high) > pivot
+            int lt = low;
+            int gt = high - 1;
+            int i = low;
+
+            while (i <= gt) {
+                int c = digits.digit(array[i], position);
+
+                if (c < pivot) {
+                    swap(array, lt++, i++);
+                } else if (c > pivot) {
+                    swap(array, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            sort(array, low, lt, position, digits);
+            sort(array, gt + 1, high, position, digits);
+
+            // the keys that have ended are all equal
+            if (pivot == -1) {
+                return;
+            }
+
+            position++;
+
+            // a shared prefix is skipped in one pass
+            // instead of a partition pass per char
+            if (lt == low && gt == high - 1) {
+                position = RadixSort.commonPrefix(array, low, high, position, digits);
+            }
+
+            low = lt;
+            high = gt + 1;
+        }
+
+        RadixSort.insertionSort(array, low, high, position, digits);
+    }
+
+    private static <T> int medianOfThree(T[] array, int low, int high, int position, RadixSort.Digits<T> digits) {
+        int a = low;
+        int b = (low + high) >>> 1;
+        int c = high - 1;
+
+        int x = digits.digit(array[a], position);
+        int y = digits.digit(array[b], position);
+        int z = digits.digit(array[c], position);
+
+        if (x < y) {
+            return y < z ? b : x < z ? c : a;
+        }
+
+        return x < z ? a : y < z ? c : b;
+    }
+
+    private static <T> void swap(T[] array, int i, int j) {
+        T value = array[i];
+        array[i] = array[j];
+        array[j] = value;
+    }
+
+}
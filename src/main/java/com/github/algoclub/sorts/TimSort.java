@@ -1,26 +1,32 @@
 package com.github.algoclub.sorts;
 
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Stack;
-
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The instance can be reused:
+ * the merge buffer and the run stack
+ * are kept between calls, so sorting
+ * with a warmed up instance allocates nothing.
+ * Instances are not thread safe
+ */
 public class TimSort<T> {
 
-    /**
-     * Information about current run
-     */
-    private record Run(int index, int length) {}
-
-    private static final int MIN_RUN_LENGTH = 64;
     private static final int GALLOP_THRESHOLD = 7;
 
-    private final T[] array;
     private final Comparator<T> comparator;
+    private final RunStack stack = new RunStack(this::merge);
 
-    private final Stack<Run> stack = new Stack<>();
+    private T[] array;
+    private T[] buffer = (T[]) new Object[0];
+    // the biggest part of the buffer used by the current sort
+    private int bufferUsed = 0;
 
-    TimSort(T[] array, Comparator<T> comparator) {
-        this.array = array;
-        this.comparator = comparator;
+    TimSort(Comparator<T> comparator) {
+        this.comparator = orNaturalOrder(comparator);
     }
 
     /**
@@ -33,207 +39,238 @@ public class TimSort<T> {
     }
 
     static <T> void sort(T[] array, Comparator<T> comparator) {
-        if (comparator == null) {
-            comparator = (a, b) -> {
-                try {
-                    return ((Comparable<T>) a).compareTo(b);
-                } catch (ClassCastException ignored) {
-                    throw new IllegalArgumentException("Comparator should be provided or items should implement Comparable");
-                }
-            };
-        }
+        TimSort<T> algo = new TimSort<>(comparator);
+        algo.sort(array, 0, array.length);
+    }
 
-        TimSort<T> algo = new TimSort<>(array, comparator);
-        algo.sort();
+    /**
+     * Sorts the array on the fork/join pool
+     * (common pool by default), parts that are not longer than the cutoff
+     * are sorted sequentially
+     */
+    static <T> void parallelSort(T[] array, Comparator<T> comparator) {
+        parallelSort(array, comparator, ParallelTimSort.DEFAULT_CUTOFF);
+    }
+
+    static <T> void parallelSort(T[] array, Comparator<T> comparator, int cutoff) {
+        parallelSort(array, comparator, cutoff, ForkJoinPool.commonPool());
+    }
+
+    static <T> void parallelSort(T[] array, Comparator<T> comparator, int cutoff, ForkJoinPool pool) {
+        ParallelTimSort.sort(array, orNaturalOrder(comparator), cutoff, pool);
     }
 
     /**
-     * Trying to merge
-     * entities in the stack
+     * Sorts the array
+     * without boxing the values
      */
-    private void collapse() {
-        while (stack.size() > 1) {
-            Run x = stack.pop();
-            Run y = stack.pop();
-
-            if (y.length <= x.length) {
-                merge(x, y);
-                continue;
-            }
+    static void sort(int[] array) {
+        new IntTimSort().sort(array);
+    }
 
-            if (stack.isEmpty()) {
-                stack.push(y);
-                stack.push(x);
-                break;
-            }
+    static void sort(long[] array) {
+        new LongTimSort().sort(array);
+    }
 
-            Run z = stack.pop();
+    static void sort(double[] array) {
+        new DoubleTimSort().sort(array);
+    }
 
-            if (z.length <= x.length + y.length) {
-                if (x.length < z.length) {
-                    stack.add(z);
-                    merge(x, y);
-                } else {
-                    merge(z, y);
-                    stack.add(x);
-                }
-                continue;
-            }
+    /**
+     * Sorts the array by the key of every item,
+     * keys are extracted once and compared as longs.
+     * Equal keys keep their order
+     */
+    static <T> void sortByLongKey(T[] array, ToLongFunction<? super T> key) {
+        long[] keys = new long[array.length];
 
-            stack.push(z);
-            stack.push(y);
-            stack.push(x);
-            break;
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = key.applyAsLong(array[i]);
         }
+
+        new LongKeyTimSort<T>().sort(keys, array);
     }
 
     /**
-     * Leaves only one
-     * entity in the stack
-     * and trying to merge everything
-     * together
+     * Int keys are widened to longs,
+     * that keeps their order
      */
-    private void forceCollapse() {
-        while (stack.size() > 1) {
-            Run x = stack.pop();
-            Run y = stack.pop();
-
-            if (stack.isEmpty()) {
-                merge(x, y);
-                continue;
-            }
+    static <T> void sortByIntKey(T[] array, ToIntFunction<? super T> key) {
+        sortByLongKey(array, item -> key.applyAsInt(item));
+    }
 
-            Run z = stack.pop();
+    /**
+     * Returns the given comparator or
+     * the natural order one if it is null
+     */
+    static <T> Comparator<T> orNaturalOrder(Comparator<T> comparator) {
+        if (comparator != null) {
+            return comparator;
+        }
 
-            if (Math.abs(z.length - y.length) < Math.abs(y.length - x.length)) {
-                merge(z, y);
-                stack.add(x);
-            } else {
-                stack.add(z);
-                merge(x, y);
+        return (a, b) -> {
+            try {
+                return ((Comparable<T>) a).compareTo(b);
+            } catch (ClassCastException ignored) {
+                throw new IllegalArgumentException("Comparator should be provided or items should implement Comparable");
             }
+        };
+    }
+
+    /**
+     * Sorts [low, high)
+     * part of the array
+     */
+    void sort(T[] array, int low, int high) {
+        try {
+            addRuns(array, low, high);
+            mergeRuns(array);
+        } finally {
+            reset();
         }
     }
 
     /**
-     * Merged two following runs
-     * a should follow b or vice versa
+     * Finds runs in [low, high) part of the array
+     * and pushes them on top of the pending ones,
+     * the part should follow the last pending run
      */
-    private void merge(Run a, Run b) {
-        Run minEntry;
-        Run maxEntry;
+    void addRuns(T[] array, int low, int high) {
+        this.array = array;
 
-        if (a.index < b.index) {
-            minEntry = a;
-            maxEntry = b;
-        } else {
-            minEntry = b;
-            maxEntry = a;
-        }
+        int minRun = RunStack.getMinRun(high - low);
 
-        T[] copy = (T[]) new Object[minEntry.length];
+        int index = low;
 
-        System.arraycopy(array, minEntry.index, copy, 0, copy.length);
+        while (index < high) {
+            int runLength = calculateRunAndReverseIfNeeded(index, high);
 
-        int result = minEntry.index;
+            if (runLength < minRun) {
+                int leftElements = high - (index + runLength);
+                runLength += Math.min(leftElements, minRun - runLength);
+            }
 
-        int left = 0;
-        int right = 0;
+            binaryInsertionSort(index, index + runLength);
+            stack.push(index, runLength);
+            stack.collapse();
 
-        int lcount = 0;
-        int rcount = 0;
+            index += runLength;
+        }
+    }
 
-        while (left < copy.length || right < maxEntry.length) {
-            T lval = left < copy.length ? copy[left] : null;
-            T rval = right < maxEntry.length ? array[maxEntry.index + right] : null;
+    /**
+     * Merges all pending runs into one
+     */
+    void mergeRuns(T[] array) {
+        this.array = array;
+        stack.forceCollapse();
+    }
 
-            if (lval == null || (rval != null && comparator.compare(rval, lval) < 0)) {
-                array[result] = rval;
-                right++;
+    /**
+     * Drops pending runs
+     * and references to the items
+     */
+    void reset() {
+        // doesn't keep the sorted items reachable
+        Arrays.fill(buffer, 0, bufferUsed, null);
+        bufferUsed = 0;
+        stack.clear();
+        this.array = null;
+    }
 
-                lcount = 0;
-                rcount++;
-            } else {
-                array[result] = lval;
-                left++;
+    /**
+     * Merges two following runs,
+     * copies only the left one
+     */
+    private void merge(int index, int leftLength, int rightLength) {
+        int rightStart = index + leftLength;
 
-                rcount = 0;
-                lcount++;
-            }
+        // the beginning of the left run that is not bigger
+        // than the first element of the right run is already in place
+        int skipped = gallopPast(array, index, rightStart, array[rightStart]) - index;
 
-            result++;
+        if (skipped == leftLength) {
+            return;
+        }
 
+        index += skipped;
+        leftLength -= skipped;
 
-            if (rval != null && lcount >= GALLOP_THRESHOLD) {
-                lcount = 0;
+        // so is the end of the right run that is not smaller
+        // than the last element of the left run
+        rightLength = gallop(array, rightStart, rightStart + rightLength, array[rightStart - 1]) - rightStart;
 
-                int nextIndex = gallop(copy, left, copy.length, rval);
+        if (buffer.length < leftLength) {
+            buffer = (T[]) new Object[Math.max(leftLength, buffer.length * 2)];
+        }
 
-                for (int k = left; k < nextIndex; k++) {
-                    array[result] = copy[k];
+        T[] copy = buffer;
+        System.arraycopy(array, index, copy, 0, leftLength);
+        bufferUsed = Math.max(bufferUsed, leftLength);
 
-                    left++;
-                    result++;
-                }
-            }
+        int result = index;
 
-            if (lval != null && rcount >= GALLOP_THRESHOLD) {
-                rcount = 0;
+        int left = 0;
+        int right = index + leftLength;
+        int rightEnd = right + rightLength;
 
-                int nextIndex = gallop(array, maxEntry.index + right, maxEntry.index + maxEntry.length, lval);
+        int lcount = 0;
+        int rcount = 0;
 
-                for (int k = maxEntry.index + right; k < nextIndex; k++) {
-                    array[result] = array[k];
+        while (left < leftLength && right < rightEnd) {
+            if (comparator.compare(array[right], copy[left]) < 0) {
+                array[result++] = array[right++];
 
-                    right++;
-                    result++;
-                }
-            }
-        }
+                lcount = 0;
+                rcount++;
 
-        Run newEntry = new Run(minEntry.index, a.length + b.length);
-        stack.push(newEntry);
-    }
+                if (rcount >= GALLOP_THRESHOLD) {
+                    rcount = 0;
 
-    private void sort() {
-        int minRun = getMinRun();
+                    int nextIndex = gallop(array, right, rightEnd, copy[left]);
+                    System.arraycopy(array, right, array, result, nextIndex - right);
 
-        int index = 0;
+                    result += nextIndex - right;
+                    right = nextIndex;
+                }
+            } else {
+                array[result++] = copy[left++];
 
-        while (index < array.length) {
-            int runLength = calculateRunAndReverseIfNeeded(index, array.length);
+                rcount = 0;
+                lcount++;
 
-            if (runLength < minRun) {
-                int leftElements = array.length - (index + runLength);
-                runLength += Math.min(leftElements, minRun - runLength);
-            }
+                if (lcount >= GALLOP_THRESHOLD) {
+                    lcount = 0;
 
-            binaryInsertionSort(index, index + runLength);
-            stack.add(new Run(index, runLength));
-            collapse();
+                    int nextIndex = gallop(copy, left, leftLength, array[right]);
+                    System.arraycopy(copy, left, array, result, nextIndex - left);
 
-            index += runLength;
+                    result += nextIndex - left;
+                    left = nextIndex;
+                }
+            }
         }
 
-        forceCollapse();
+        // the rest of the right run is already in place
+        System.arraycopy(copy, left, array, result, leftLength - left);
     }
 
     /**
      * Trying to find the last index of the element
-     * in the given array
+     * in the given array [low, high)
      * that would be smaller than the given target
      */
     private int gallop(T[] a, int low, int high, T target) {
         int left = low;
-        int right = high;
+        int right = high - 1;
 
-        int lastKnownIndex = -1;
+        int lastKnownIndex = low;
 
         while (left <= right) {
             int middle = left + (right - left) / 2;
 
             if (comparator.compare(a[middle], target) < 0) {
-                lastKnownIndex = Math.max(lastKnownIndex, middle + 1);
+                lastKnownIndex = middle + 1;
                 left = middle + 1;
             } else {
                 right = middle - 1;
@@ -243,6 +280,31 @@ public class TimSort<T> {
         return lastKnownIndex;
     }
 
+    /**
+     * Trying to find the first index of the element
+     * in the given array [low, high)
+     * that would be bigger than the given target
+     */
+    private int gallopPast(T[] a, int low, int high, T target) {
+        int left = low;
+        int right = high - 1;
+
+        int firstKnownIndex = high;
+
+        while (left <= right) {
+            int middle = left + (right - left) / 2;
+
+            if (comparator.compare(target, a[middle]) < 0) {
+                firstKnownIndex = middle;
+                right = middle - 1;
+            } else {
+                left = middle + 1;
+            }
+        }
+
+        return firstKnownIndex;
+    }
+
     private int calculateRunAndReverseIfNeeded(int low, int high) {
         if (low + 1 == high) {
             return 1;
@@ -256,7 +318,7 @@ public class TimSort<T> {
                 index++;
             }
 
-            reverse(low, index);
+            reverse(low, index - 1);
         } else {
             // ascending order
             while (index < high && comparator.compare(array[index], array[index - 1]) >= 0) {
@@ -281,26 +343,6 @@ public class TimSort<T> {
         }
     }
 
-    /**
-     * Calculates min run position
-     */
-    private int getMinRun() {
-        int n = array.length;
-
-        if (n < MIN_RUN_LENGTH) {
-            return n;
-        }
-
-        int offset = 0;
-
-        while (n > 64) {
-            offset |= (n & 1);
-            n = n >> 1;
-        }
-
-        return n + offset;
-    }
-
     /**
      * O(n lg n) comparisons
      * O(n^2) runtime complexity
@@ -329,9 +371,7 @@ public class TimSort<T> {
                 }
             }
 
-            for (int j = i; j > insertionIndex; j--) {
-                array[j] = array[j - 1];
-            }
+            System.arraycopy(array, insertionIndex, array, insertionIndex + 1, i - insertionIndex);
 
             array[insertionIndex] = value;
         }
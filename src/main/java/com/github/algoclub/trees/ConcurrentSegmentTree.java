@@ -0,0 +1,177 @@
+package com.github.algoclub.trees;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread safe sum tree with the layout of {@link SegmentTree}.
+ * The array is cut into stripes of consecutive indexes, each with a lock:
+ * updates share the lock of their stripe and add their diff atomically
+ * to every node on the path from the leaf to the root,
+ * so updates of one stripe don't wait for each other,
+ * and range queries take the locks of the stripes they cover
+ * exclusively, in increasing order, so queries never deadlock.
+ *
+ * <p>Consistency of {@link #get(int, int)}:
+ * <ul>
+ *     <li>the query is linearizable: while it holds its locks no update
+ *     of its range is running, so it reads the range as it is at that moment</li>
+ *     <li>every update that has returned before the query started is counted,
+ *     and if an update is counted, so is every update of the range that returned before it started</li>
+ *     <li>updates outside of the range and single index reads never wait for a query</li>
+ *     <li>the price is that updates of the range wait for the query:
+ *     a query of the whole array blocks every writer until it returns,
+ *     and writers block the query the same way</li>
+ * </ul>
+ */
+public final class ConcurrentSegmentTree {
+
+    // at most this many stripes, fewer for small arrays
+    static final int MAX_STRIPES = 256;
+
+    private final int n;
+    private final AtomicLongArray tree;
+    private final int stripeShift;
+    // updates take the read lock, as they only exclude queries
+    private final StampedLock[] stripes;
+
+    ConcurrentSegmentTree(long[] array) {
+        this.n = array.length;
+
+        long[] values = new long[array.length * 2];
+        System.arraycopy(array, 0, values, n, n);
+
+        for (int i = n - 1; i >= 1; i--) {
+            values[i] = values[2 * i] + values[2 * i + 1];
+        }
+
+        this.tree = new AtomicLongArray(values);
+
+        int shift = 0;
+
+        while (n - 1 >> shift >= MAX_STRIPES) {
+            shift++;
+        }
+
+        this.stripeShift = shift;
+        this.stripes = new StampedLock[Math.max(n - 1 >> shift, 0) + 1];
+
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new StampedLock();
+        }
+    }
+
+    long get(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+
+        if (from > to) {
+            return 0;
+        }
+
+        int first = from >> stripeShift;
+        int last = to >> stripeShift;
+
+        for (int i = first; i <= last; i++) {
+            stripes[i].asWriteLock().lock();
+        }
+
+        try {
+            return sum(from, to);
+        } finally {
+            for (int i = last; i >= first; i--) {
+                stripes[i].asWriteLock().unlock();
+            }
+        }
+    }
+
+    private long sum(int from, int to) {
+        int left = from + n;
+        int right = to + n;
+
+        long sum = 0;
+
+        while (left <= right) {
+            if (left % 2 == 1) {
+                sum += tree.get(left);
+                left++;
+            }
+
+            if (right % 2 == 0) {
+                sum += tree.get(right);
+                right--;
+            }
+
+            left /= 2;
+            right /= 2;
+        }
+
+        return sum;
+    }
+
+    long get(int index) {
+        checkIndex(index);
+
+        return tree.get(index + n);
+    }
+
+    void add(int index, long diff) {
+        checkIndex(index);
+
+        if (diff == 0) {
+            return;
+        }
+
+        StampedLock stripe = stripes[index >> stripeShift];
+        long stamp = stripe.readLock();
+
+        try {
+            for (int i = index + n; i >= 1; i /= 2) {
+                tree.getAndAdd(i, diff);
+            }
+        } finally {
+            stripe.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * The leaf is swapped with a CAS,
+     * so concurrent updates of the same index
+     * are never lost, then the diff goes up like in add
+     */
+    void set(int index, long newValue) {
+        checkIndex(index);
+
+        int leaf = index + n;
+        StampedLock stripe = stripes[index >> stripeShift];
+        long stamp = stripe.readLock();
+
+        try {
+            long oldValue;
+
+            do {
+                oldValue = tree.get(leaf);
+            } while (!tree.compareAndSet(leaf, oldValue, newValue));
+
+            long diff = newValue - oldValue;
+
+            for (int i = leaf / 2; i >= 1 && diff != 0; i /= 2) {
+                tree.getAndAdd(i, diff);
+            }
+        } finally {
+            stripe.unlockRead(stamp);
+        }
+    }
+
+    int size() {
+        return n;
+    }
+
+    private void checkIndex(int index) {
+        if (index >= n || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The given index %d is out of array bounds %d", index, n));
+        }
+    }
+
+}
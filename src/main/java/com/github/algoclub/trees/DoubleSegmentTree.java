@@ -0,0 +1,109 @@
+package com.github.algoclub.trees;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * {@link LongSegmentTree} over double values.
+ * Sums are combined in the tree order,
+ * so they may differ from a plain loop in the last bits
+ */
+public final class DoubleSegmentTree {
+
+    private final int n;
+    private final double[] tree;
+    private final double identity;
+    private final DoubleBinaryOperator operation;
+
+    DoubleSegmentTree(double[] array, double identity, DoubleBinaryOperator operation) {
+        this.n = array.length;
+        this.tree = new double[array.length * 2];
+        this.identity = identity;
+        this.operation = operation;
+
+        System.arraycopy(array, 0, tree, n, n);
+
+        for (int i = n - 1; i >= 1; i--) {
+            tree[i] = operation.applyAsDouble(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    static DoubleSegmentTree sum(double[] array) {
+        return new DoubleSegmentTree(array, 0, Double::sum);
+    }
+
+    static DoubleSegmentTree min(double[] array) {
+        return new DoubleSegmentTree(array, Double.POSITIVE_INFINITY, Math::min);
+    }
+
+    static DoubleSegmentTree max(double[] array) {
+        return new DoubleSegmentTree(array, Double.NEGATIVE_INFINITY, Math::max);
+    }
+
+    /**
+     * Combines the values in [from, to]
+     */
+    double get(int from, int to) {
+        checkRange(from, to);
+
+        int left = from + n;
+        int right = to + n;
+
+        double leftResult = identity;
+        double rightResult = identity;
+
+        while (left <= right) {
+            if (left % 2 == 1) {
+                leftResult = operation.applyAsDouble(leftResult, tree[left]);
+                left++;
+            }
+
+            if (right % 2 == 0) {
+                rightResult = operation.applyAsDouble(tree[right], rightResult);
+                right--;
+            }
+
+            left /= 2;
+            right /= 2;
+        }
+
+        return operation.applyAsDouble(leftResult, rightResult);
+    }
+
+    double get(int index) {
+        checkIndex(index);
+
+        return tree[index + n];
+    }
+
+    void set(int index, double newValue) {
+        checkIndex(index);
+
+        int i = index + n;
+        tree[i] = newValue;
+
+        for (int j = i / 2; j >= 1; j /= 2) {
+            tree[j] = operation.applyAsDouble(tree[2 * j], tree[2 * j + 1]);
+        }
+    }
+
+    int size() {
+        return n;
+    }
+
+    private void checkRange(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+
+        if (from > to) {
+            throw new IllegalArgumentException(String.format("The range [%d, %d] is empty", from, to));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index >= n || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The given index %d is out of array bounds %d", index, n));
+        }
+    }
+
+}
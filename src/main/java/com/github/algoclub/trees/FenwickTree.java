@@ -0,0 +1,91 @@
+package com.github.algoclub.trees;
+
+/**
+ * Binary indexed tree of long sums:
+ * one array of n values, an update or a prefix sum
+ * touches O(log n) cells with no recursion
+ * and a range sum is the difference of two prefix sums
+ */
+public final class FenwickTree implements MutableRangeQuery {
+
+    // tree[i] is the sum of (i - lowbit(i), i], 1-based
+    private final long[] tree;
+
+    FenwickTree(long[] array) {
+        this.tree = new long[array.length + 1];
+
+        System.arraycopy(array, 0, tree, 1, array.length);
+
+        // every cell passes its sum to the parent once, O(n)
+        for (int i = 1; i <= array.length; i++) {
+            int parent = i + (i & -i);
+
+            if (parent <= array.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Sum of [from, to]
+     */
+    @Override
+    public long get(int from, int to) {
+        checkRange(from, to);
+
+        return prefix(to) - (from == 0 ? 0 : prefix(from - 1));
+    }
+
+    long get(int index) {
+        return get(index, index);
+    }
+
+    /**
+     * Sum of [0, to]
+     */
+    long prefix(int to) {
+        checkIndex(to);
+
+        long sum = 0;
+
+        for (int i = to + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+
+        return sum;
+    }
+
+    void add(int index, long diff) {
+        checkIndex(index);
+
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += diff;
+        }
+    }
+
+    @Override
+    public void set(int index, long newValue) {
+        add(index, newValue - get(index));
+    }
+
+    int size() {
+        return tree.length - 1;
+    }
+
+    private void checkRange(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+
+        if (from > to) {
+            throw new IllegalArgumentException(String.format("The range [%d, %d] is empty", from, to));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index >= tree.length - 1 || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The given index %d is out of array bounds %d", index, tree.length - 1));
+        }
+    }
+
+}
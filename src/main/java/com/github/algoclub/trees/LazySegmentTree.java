@@ -0,0 +1,288 @@
+package com.github.algoclub.trees;
+
+/**
+ * Segment tree with range updates:
+ * an update stops at the nodes that cover the range
+ * and leaves a pending add or assign there,
+ * the pending updates are pushed to the children
+ * only when a later call goes below the node.
+ * Every call is O(log n), bounds are inclusive like in {@link SegmentTree}
+ */
+public final class LazySegmentTree {
+
+    private final int n;
+
+    private final long[] sum;
+    private final long[] min;
+    private final long[] max;
+
+    // pending updates for the children of the node,
+    // an assign already includes the adds that came after it
+    private final long[] pendingAdd;
+    private final long[] pendingAssign;
+    private final boolean[] assigned;
+
+    LazySegmentTree(long[] array) {
+        this.n = array.length;
+
+        int size = 4 * Math.max(n, 1);
+        this.sum = new long[size];
+        this.min = new long[size];
+        this.max = new long[size];
+        this.pendingAdd = new long[size];
+        this.pendingAssign = new long[size];
+        this.assigned = new boolean[size];
+
+        if (n > 0) {
+            build(array, 1, 0, n - 1);
+        }
+    }
+
+    LazySegmentTree(int[] array) {
+        this(toLongs(array));
+    }
+
+    /**
+     * Sum of [from, to], same as {@link SegmentTree#get(int, int)},
+     * so an empty range gives 0
+     */
+    long get(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+
+        return from > to ? 0 : sum(1, 0, n - 1, from, to);
+    }
+
+    long sum(int from, int to) {
+        checkRange(from, to);
+
+        return sum(1, 0, n - 1, from, to);
+    }
+
+    long min(int from, int to) {
+        checkRange(from, to);
+
+        return min(1, 0, n - 1, from, to);
+    }
+
+    long max(int from, int to) {
+        checkRange(from, to);
+
+        return max(1, 0, n - 1, from, to);
+    }
+
+    void add(int index, long diff) {
+        rangeAdd(index, index, diff);
+    }
+
+    void set(int index, long newValue) {
+        rangeAssign(index, index, newValue);
+    }
+
+    void rangeAdd(int from, int to, long diff) {
+        checkRange(from, to);
+
+        rangeAdd(1, 0, n - 1, from, to, diff);
+    }
+
+    void rangeAssign(int from, int to, long value) {
+        checkRange(from, to);
+
+        rangeAssign(1, 0, n - 1, from, to, value);
+    }
+
+    private void build(long[] array, int node, int low, int high) {
+        if (low == high) {
+            sum[node] = array[low];
+            min[node] = array[low];
+            max[node] = array[low];
+            return;
+        }
+
+        int middle = (low + high) >>> 1;
+
+        build(array, 2 * node, low, middle);
+        build(array, 2 * node + 1, middle + 1, high);
+
+        pull(node);
+    }
+
+    private long sum(int node, int low, int high, int from, int to) {
+        if (from <= low && high <= to) {
+            return sum[node];
+        }
+
+        push(node, low, high);
+
+        int middle = (low + high) >>> 1;
+        long result = 0;
+
+        if (from <= middle) {
+            result += sum(2 * node, low, middle, from, to);
+        }
+
+        if (to > middle) {
+            result += sum(2 * node + 1, middle + 1, high, from, to);
+        }
+
+        return result;
+    }
+
+    private long min(int node, int low, int high, int from, int to) {
+        if (from <= low && high <= to) {
+            return min[node];
+        }
+
+        push(node, low, high);
+
+        int middle = (low + high) >>> 1;
+        long result = Long.MAX_VALUE;
+
+        if (from <= middle) {
+            result = Math.min(result, min(2 * node, low, middle, from, to));
+        }
+
+        if (to > middle) {
+            result = Math.min(result, min(2 * node + 1, middle + 1, high, from, to));
+        }
+
+        return result;
+    }
+
+    private long max(int node, int low, int high, int from, int to) {
+        if (from <= low && high <= to) {
+            return max[node];
+        }
+
+        push(node, low, high);
+
+        int middle = (low + high) >>> 1;
+        long result = Long.MIN_VALUE;
+
+        if (from <= middle) {
+            result = Math.max(result, max(2 * node, low, middle, from, to));
+        }
+
+        if (to > middle) {
+            result = Math.max(result, max(2 * node + 1, middle + 1, high, from, to));
+        }
+
+        return result;
+    }
+
+    private void rangeAdd(int node, int low, int high, int from, int to, long diff) {
+        if (from <= low && high <= to) {
+            applyAdd(node, high - low + 1, diff);
+            return;
+        }
+
+        push(node, low, high);
+
+        int middle = (low + high) >>> 1;
+
+        if (from <= middle) {
+            rangeAdd(2 * node, low, middle, from, to, diff);
+        }
+
+        if (to > middle) {
+            rangeAdd(2 * node + 1, middle + 1, high, from, to, diff);
+        }
+
+        pull(node);
+    }
+
+    private void rangeAssign(int node, int low, int high, int from, int to, long value) {
+        if (from <= low && high <= to) {
+            applyAssign(node, high - low + 1, value);
+            return;
+        }
+
+        push(node, low, high);
+
+        int middle = (low + high) >>> 1;
+
+        if (from <= middle) {
+            rangeAssign(2 * node, low, middle, from, to, value);
+        }
+
+        if (to > middle) {
+            rangeAssign(2 * node + 1, middle + 1, high, from, to, value);
+        }
+
+        pull(node);
+    }
+
+    private void applyAdd(int node, int length, long diff) {
+        sum[node] += diff * length;
+        min[node] += diff;
+        max[node] += diff;
+
+        if (assigned[node]) {
+            pendingAssign[node] += diff;
+        } else {
+            pendingAdd[node] += diff;
+        }
+    }
+
+    private void applyAssign(int node, int length, long value) {
+        sum[node] = value * length;
+        min[node] = value;
+        max[node] = value;
+
+        pendingAssign[node] = value;
+        assigned[node] = true;
+        pendingAdd[node] = 0;
+    }
+
+    /**
+     * Passes the pending updates of the node to its children
+     */
+    private void push(int node, int low, int high) {
+        int middle = (low + high) >>> 1;
+
+        if (assigned[node]) {
+            applyAssign(2 * node, middle - low + 1, pendingAssign[node]);
+            applyAssign(2 * node + 1, high - middle, pendingAssign[node]);
+            assigned[node] = false;
+        }
+
+        if (pendingAdd[node] != 0) {
+            applyAdd(2 * node, middle - low + 1, pendingAdd[node]);
+            applyAdd(2 * node + 1, high - middle, pendingAdd[node]);
+            pendingAdd[node] = 0;
+        }
+    }
+
+    private void pull(int node) {
+        sum[node] = sum[2 * node] + sum[2 * node + 1];
+        min[node] = Math.min(min[2 * node], min[2 * node + 1]);
+        max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+    }
+
+    private static long[] toLongs(int[] array) {
+        long[] result = new long[array.length];
+
+        for (int i = 0; i < array.length; i++) {
+            result[i] = array[i];
+        }
+
+        return result;
+    }
+
+    private void checkRange(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+
+        if (from > to) {
+            throw new IllegalArgumentException(String.format("The range [%d, %d] is empty", from, to));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index >= n || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The given index %d is out of array bounds %d", index, n));
+        }
+    }
+
+}
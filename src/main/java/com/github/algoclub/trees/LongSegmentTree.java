@@ -0,0 +1,127 @@
+package com.github.algoclub.trees;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Same bottom-up layout as {@link SegmentTree}
+ * over long values and any associative operation
+ * with an identity, e.g. sum, min, max or gcd.
+ * The operation doesn't have to be commutative,
+ * the left and the right parts of a query are combined separately
+ */
+public final class LongSegmentTree implements MutableRangeQuery {
+
+    private final int n;
+    private final long[] tree;
+    private final long identity;
+    private final LongBinaryOperator operation;
+
+    LongSegmentTree(long[] array, long identity, LongBinaryOperator operation) {
+        this.n = array.length;
+        this.tree = new long[array.length * 2];
+        this.identity = identity;
+        this.operation = operation;
+
+        System.arraycopy(array, 0, tree, n, n);
+
+        for (int i = n - 1; i >= 1; i--) {
+            tree[i] = operation.applyAsLong(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    static LongSegmentTree sum(long[] array) {
+        return new LongSegmentTree(array, 0, Long::sum);
+    }
+
+    static LongSegmentTree min(long[] array) {
+        return new LongSegmentTree(array, Long.MAX_VALUE, Math::min);
+    }
+
+    static LongSegmentTree max(long[] array) {
+        return new LongSegmentTree(array, Long.MIN_VALUE, Math::max);
+    }
+
+    static LongSegmentTree gcd(long[] array) {
+        return new LongSegmentTree(array, 0, LongSegmentTree::gcd);
+    }
+
+    @Override
+    public long get(int from, int to) {
+        checkRange(from, to);
+
+        int left = from + n;
+        int right = to + n;
+
+        long leftResult = identity;
+        long rightResult = identity;
+
+        while (left <= right) {
+            if (left % 2 == 1) {
+                leftResult = operation.applyAsLong(leftResult, tree[left]);
+                left++;
+            }
+
+            if (right % 2 == 0) {
+                rightResult = operation.applyAsLong(tree[right], rightResult);
+                right--;
+            }
+
+            left /= 2;
+            right /= 2;
+        }
+
+        return operation.applyAsLong(leftResult, rightResult);
+    }
+
+    long get(int index) {
+        checkIndex(index);
+
+        return tree[index + n];
+    }
+
+    @Override
+    public void set(int index, long newValue) {
+        checkIndex(index);
+
+        int i = index + n;
+        tree[i] = newValue;
+
+        for (int j = i / 2; j >= 1; j /= 2) {
+            tree[j] = operation.applyAsLong(tree[2 * j], tree[2 * j + 1]);
+        }
+    }
+
+    int size() {
+        return n;
+    }
+
+    private static long gcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+
+        while (b != 0) {
+            long rest = a % b;
+            a = b;
+            b = rest;
+        }
+
+        return a;
+    }
+
+    private void checkRange(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+
+        if (from > to) {
+            throw new IllegalArgumentException(String.format("The range [%d, %d] is empty", from, to));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index >= n || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The given index %d is out of array bounds %d", index, n));
+        }
+    }
+
+}
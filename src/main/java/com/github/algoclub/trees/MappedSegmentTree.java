@@ -0,0 +1,285 @@
+package com.github.algoclub.trees;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Sum tree with the layout of {@link SegmentTree}
+ * kept in a memory-mapped file, so it is off the heap,
+ * indexes are long and the size is limited only by the disk.
+ * The file is the tree itself: a header
+ * followed by the 2n nodes as little-endian longs,
+ * reopening it doesn't read or rebuild anything.
+ * A file that wasn't closed cleanly is rebuilt from its leaves on open.
+ * Instances are not thread safe
+ */
+public final class MappedSegmentTree implements Closeable {
+
+    private static final long MAGIC = 0x5345475452454531L;
+
+    private static final int MAGIC_POSITION = 0;
+    private static final int SIZE_POSITION = 1;
+    private static final int STATE_POSITION = 2;
+    private static final int HEADER_LONGS = 3;
+
+    private static final long CLEAN = 0;
+    private static final long DIRTY = 1;
+
+    // 2^27 longs, 1 GiB per mapping, the most a mapping can take
+    private static final int MAX_CHUNK_SHIFT = 27;
+    private static final int DEFAULT_CHUNK_SHIFT = MAX_CHUNK_SHIFT;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] mappings;
+    private final LongBuffer[] chunks;
+    private final int chunkShift;
+    private final long chunkMask;
+    private final long n;
+
+    private boolean dirty = false;
+
+    private MappedSegmentTree(FileChannel channel, long n, int chunkShift) throws IOException {
+        this.channel = channel;
+        this.n = n;
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1L << chunkShift) - 1;
+
+        long longs = HEADER_LONGS + 2 * n;
+        int count = (int) ((longs + chunkMask) >>> chunkShift);
+
+        this.mappings = new MappedByteBuffer[count];
+        this.chunks = new LongBuffer[count];
+
+        for (int i = 0; i < count; i++) {
+            long first = (long) i << chunkShift;
+            long length = Math.min(1L << chunkShift, longs - first);
+
+            mappings[i] = channel.map(FileChannel.MapMode.READ_WRITE, first * Long.BYTES, length * Long.BYTES);
+            chunks[i] = mappings[i].order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        }
+    }
+
+    /**
+     * Creates the file, or replaces it,
+     * with all the values equal to 0
+     */
+    static MappedSegmentTree create(Path file, long size) throws IOException {
+        return create(file, size, index -> 0, DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Creates the file with the given value at every index,
+     * the tree is built bottom-up in O(n)
+     */
+    static MappedSegmentTree create(Path file, long size, LongUnaryOperator values) throws IOException {
+        return create(file, size, values, DEFAULT_CHUNK_SHIFT);
+    }
+
+    static MappedSegmentTree open(Path file) throws IOException {
+        return open(file, DEFAULT_CHUNK_SHIFT);
+    }
+
+    static MappedSegmentTree create(Path file, long size, LongUnaryOperator values, int chunkShift) throws IOException {
+        checkChunkShift(chunkShift);
+
+        if (size < 0) {
+            throw new IllegalArgumentException(String.format("Size should not be negative, got %d", size));
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            MappedSegmentTree tree = new MappedSegmentTree(channel, size, chunkShift);
+
+            tree.write(MAGIC_POSITION, MAGIC);
+            tree.write(SIZE_POSITION, size);
+            tree.markDirty();
+
+            for (long i = 0; i < size; i++) {
+                tree.putNode(i + size, values.applyAsLong(i));
+            }
+
+            tree.build();
+
+            return tree;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static MappedSegmentTree open(Path file, int chunkShift) throws IOException {
+        checkChunkShift(chunkShift);
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            if (channel.size() < HEADER_LONGS * Long.BYTES) {
+                throw new IOException(String.format("%s is too short for a segment tree", file));
+            }
+
+            LongBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LONGS * Long.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asLongBuffer();
+
+            if (header.get(MAGIC_POSITION) != MAGIC) {
+                throw new IOException(String.format("%s is not a segment tree", file));
+            }
+
+            long size = header.get(SIZE_POSITION);
+
+            if (size < 0 || channel.size() < (HEADER_LONGS + 2 * size) * Long.BYTES) {
+                throw new IOException(String.format("%s is truncated, expected %d values", file, size));
+            }
+
+            MappedSegmentTree tree = new MappedSegmentTree(channel, size, chunkShift);
+
+            // the leaves are right, the nodes above them may be not
+            if (header.get(STATE_POSITION) != CLEAN) {
+                tree.dirty = true;
+                tree.build();
+            }
+
+            return tree;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sum of [from, to]
+     */
+    long get(long from, long to) {
+        checkIndex(from);
+        checkIndex(to);
+
+        long left = from + n;
+        long right = to + n;
+
+        long sum = 0;
+
+        while (left <= right) {
+            if (left % 2 == 1) {
+                sum += node(left);
+                left++;
+            }
+
+            if (right % 2 == 0) {
+                sum += node(right);
+                right--;
+            }
+
+            left /= 2;
+            right /= 2;
+        }
+
+        return sum;
+    }
+
+    long get(long index) {
+        checkIndex(index);
+
+        return node(index + n);
+    }
+
+    void set(long index, long newValue) {
+        checkIndex(index);
+
+        add(index, newValue - node(index + n));
+    }
+
+    void add(long index, long diff) {
+        checkIndex(index);
+        markDirty();
+
+        for (long i = index + n; i >= 1; i /= 2) {
+            putNode(i, node(i) + diff);
+        }
+    }
+
+    long size() {
+        return n;
+    }
+
+    /**
+     * Writes the changes to the disk,
+     * the file stays marked as not closed
+     */
+    void force() {
+        for (MappedByteBuffer mapping : mappings) {
+            mapping.force();
+        }
+    }
+
+    /**
+     * Writes the changes and marks the file as clean,
+     * so the next open doesn't rebuild it
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (dirty) {
+                // the mark goes last, a crash before it means a rebuild
+                force();
+                write(STATE_POSITION, CLEAN);
+                mappings[0].force();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void build() {
+        for (long i = n - 1; i >= 1; i--) {
+            putNode(i, node(2 * i) + node(2 * i + 1));
+        }
+    }
+
+    private void markDirty() {
+        if (!dirty) {
+            write(STATE_POSITION, DIRTY);
+            mappings[0].force();
+            dirty = true;
+        }
+    }
+
+    private long node(long node) {
+        return read(HEADER_LONGS + node);
+    }
+
+    private void putNode(long node, long value) {
+        write(HEADER_LONGS + node, value);
+    }
+
+    private long read(long position) {
+        return chunks[(int) (position >>> chunkShift)].get((int) (position & chunkMask));
+    }
+
+    private void write(long position, long value) {
+        chunks[(int) (position >>> chunkShift)].put((int) (position & chunkMask), value);
+    }
+
+    private void checkIndex(long index) {
+        if (index >= n || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The given index %d is out of array bounds %d", index, n));
+        }
+    }
+
+    private static void checkChunkShift(int chunkShift) {
+        if (chunkShift < 1 || chunkShift > MAX_CHUNK_SHIFT) {
+            throw new IllegalArgumentException(
+                    String.format("Chunk shift should be in [1, %d], got %d", MAX_CHUNK_SHIFT, chunkShift));
+        }
+    }
+
+}
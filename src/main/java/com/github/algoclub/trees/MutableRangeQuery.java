@@ -0,0 +1,7 @@
+package com.github.algoclub.trees;
+
+public interface MutableRangeQuery extends RangeQuery {
+
+    void set(int index, long newValue);
+
+}
@@ -0,0 +1,282 @@
+package com.github.algoclub.trees;
+
+import java.util.Arrays;
+
+/**
+ * Sum tree that keeps every version:
+ * an update copies only the O(log n) nodes on the path
+ * to the changed leaf, the rest is shared with the old version.
+ * Nodes live in primitive arrays, a node is an index there.
+ * Versions are numbered from 0, the initial array,
+ * every update makes the next one from the latest.
+ * Released versions keep their nodes until {@link #compact()}.
+ * Instances are not thread safe
+ */
+public final class PersistentSegmentTree {
+
+    private static final int NONE = -1;
+    private static final int INITIAL_VERSIONS = 16;
+
+    private final int n;
+
+    // the node arena
+    private long[] sums;
+    private int[] lefts;
+    private int[] rights;
+    private int nodeCount = 0;
+
+    private int[] roots = new int[INITIAL_VERSIONS];
+    private int versionCount = 0;
+
+    PersistentSegmentTree(long[] array) {
+        if (array.length == 0) {
+            throw new IllegalArgumentException("The array should not be empty");
+        }
+
+        this.n = array.length;
+
+        // 2n - 1 nodes for the initial tree
+        // and some space for the updates
+        int capacity = 2 * n + 64;
+        this.sums = new long[capacity];
+        this.lefts = new int[capacity];
+        this.rights = new int[capacity];
+
+        addVersion(build(array, 0, n - 1));
+    }
+
+    /**
+     * Sum of [from, to] at the latest version
+     */
+    long get(int from, int to) {
+        return get(version(), from, to);
+    }
+
+    /**
+     * Sum of [from, to] at the given version
+     */
+    long get(int version, int from, int to) {
+        int root = root(version);
+        checkIndex(from);
+        checkIndex(to);
+
+        return from > to ? 0 : sum(root, 0, n - 1, from, to);
+    }
+
+    /**
+     * Makes a new version from the latest one
+     * and returns its number
+     */
+    int add(int index, long diff) {
+        checkIndex(index);
+
+        return addVersion(add(roots[versionCount - 1], 0, n - 1, index, diff));
+    }
+
+    int set(int index, long newValue) {
+        checkIndex(index);
+
+        long oldValue = sum(roots[versionCount - 1], 0, n - 1, index, index);
+        return add(index, newValue - oldValue);
+    }
+
+    /**
+     * The number of the latest version
+     */
+    int version() {
+        return versionCount - 1;
+    }
+
+    /**
+     * The version can't be queried after that,
+     * its nodes are freed by the next compaction.
+     * The latest version can't be released
+     */
+    void release(int version) {
+        root(version);
+
+        if (version == versionCount - 1) {
+            throw new IllegalArgumentException(String.format("The latest version %d can't be released", version));
+        }
+
+        roots[version] = NONE;
+    }
+
+    /**
+     * Copies the nodes of the retained versions to new arrays,
+     * O(number of nodes) time, version numbers stay the same
+     */
+    void compact() {
+        int[] forward = new int[nodeCount];
+        Arrays.fill(forward, NONE);
+
+        int[] stack = new int[64];
+        int live = 0;
+
+        // numbers the reachable nodes
+        for (int version = 0; version < versionCount; version++) {
+            if (roots[version] == NONE || forward[roots[version]] != NONE) {
+                continue;
+            }
+
+            int size = 0;
+            stack[size++] = roots[version];
+            forward[roots[version]] = live++;
+
+            while (size > 0) {
+                int node = stack[--size];
+
+                for (int side = 0; side < 2; side++) {
+                    int child = side == 0 ? lefts[node] : rights[node];
+
+                    if (child != NONE && forward[child] == NONE) {
+                        forward[child] = live++;
+
+                        if (size == stack.length) {
+                            stack = Arrays.copyOf(stack, size * 2);
+                        }
+
+                        stack[size++] = child;
+                    }
+                }
+            }
+        }
+
+        int capacity = live + Math.max(64, live / 2);
+        long[] newSums = new long[capacity];
+        int[] newLefts = new int[capacity];
+        int[] newRights = new int[capacity];
+
+        for (int node = 0; node < nodeCount; node++) {
+            int target = forward[node];
+
+            if (target != NONE) {
+                newSums[target] = sums[node];
+                newLefts[target] = lefts[node] == NONE ? NONE : forward[lefts[node]];
+                newRights[target] = rights[node] == NONE ? NONE : forward[rights[node]];
+            }
+        }
+
+        for (int version = 0; version < versionCount; version++) {
+            if (roots[version] != NONE) {
+                roots[version] = forward[roots[version]];
+            }
+        }
+
+        sums = newSums;
+        lefts = newLefts;
+        rights = newRights;
+        nodeCount = live;
+    }
+
+    /**
+     * Number of nodes in the arena,
+     * released versions included until compaction
+     */
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    int size() {
+        return n;
+    }
+
+    private int build(long[] array, int low, int high) {
+        if (low == high) {
+            return newNode(array[low], NONE, NONE);
+        }
+
+        int middle = (low + high) >>> 1;
+
+        int left = build(array, low, middle);
+        int right = build(array, middle + 1, high);
+
+        return newNode(sums[left] + sums[right], left, right);
+    }
+
+    private long sum(int node, int low, int high, int from, int to) {
+        if (from <= low && high <= to) {
+            return sums[node];
+        }
+
+        int middle = (low + high) >>> 1;
+        long result = 0;
+
+        if (from <= middle) {
+            result += sum(lefts[node], low, middle, from, to);
+        }
+
+        if (to > middle) {
+            result += sum(rights[node], middle + 1, high, from, to);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a copy of the node
+     * with the diff added on the path to the index
+     */
+    private int add(int node, int low, int high, int index, long diff) {
+        if (low == high) {
+            return newNode(sums[node] + diff, NONE, NONE);
+        }
+
+        int middle = (low + high) >>> 1;
+        int left = lefts[node];
+        int right = rights[node];
+
+        if (index <= middle) {
+            left = add(left, low, middle, index, diff);
+        } else {
+            right = add(right, middle + 1, high, index, diff);
+        }
+
+        return newNode(sums[node] + diff, left, right);
+    }
+
+    private int newNode(long sum, int left, int right) {
+        if (nodeCount == sums.length) {
+            int capacity = sums.length + (sums.length >> 1) + 1;
+            sums = Arrays.copyOf(sums, capacity);
+            lefts = Arrays.copyOf(lefts, capacity);
+            rights = Arrays.copyOf(rights, capacity);
+        }
+
+        sums[nodeCount] = sum;
+        lefts[nodeCount] = left;
+        rights[nodeCount] = right;
+
+        return nodeCount++;
+    }
+
+    private int addVersion(int root) {
+        if (versionCount == roots.length) {
+            roots = Arrays.copyOf(roots, roots.length * 2);
+        }
+
+        roots[versionCount] = root;
+        return versionCount++;
+    }
+
+    private int root(int version) {
+        if (version < 0 || version >= versionCount) {
+            throw new IllegalArgumentException(
+                    String.format("The given version %d is out of versions bounds %d", version, versionCount));
+        }
+
+        if (roots[version] == NONE) {
+            throw new IllegalArgumentException(String.format("The version %d is released", version));
+        }
+
+        return roots[version];
+    }
+
+    private void checkIndex(int index) {
+        if (index >= n || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The given index %d is out of array bounds %d", index, n));
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.github.algoclub.trees;
+
+/**
+ * Range sums over values that never change:
+ * the sums of all prefixes are kept, so a query
+ * is one subtraction of two cells, O(1).
+ * Sums wrap around like long arithmetic does,
+ * a range sum that fits in a long is exact
+ * even if a prefix sum overflows
+ */
+public final class PrefixSums implements RangeQuery {
+
+    // prefixes[i] is the sum of [0, i)
+    private final long[] prefixes;
+
+    PrefixSums(long[] array) {
+        this.prefixes = new long[array.length + 1];
+
+        for (int i = 0; i < array.length; i++) {
+            prefixes[i + 1] = prefixes[i] + array[i];
+        }
+    }
+
+    @Override
+    public long get(int from, int to) {
+        checkRange(from, to);
+
+        return prefixes[to + 1] - prefixes[from];
+    }
+
+    int size() {
+        return prefixes.length - 1;
+    }
+
+    private void checkRange(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+
+        if (from > to) {
+            throw new IllegalArgumentException(String.format("The range [%d, %d] is empty", from, to));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index >= prefixes.length - 1 || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The given index %d is out of array bounds %d", index, prefixes.length - 1));
+        }
+    }
+
+}
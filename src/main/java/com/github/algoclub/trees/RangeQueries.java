@@ -0,0 +1,40 @@
+package com.github.algoclub.trees;
+
+/**
+ * Picks the range query structure
+ * for the operation and whether the values change:
+ * <ul>
+ *     <li>sums over values that never change go to {@link PrefixSums}, O(1) queries</li>
+ *     <li>sums with updates go to {@link FenwickTree}, the smallest and the fastest one for them</li>
+ *     <li>min and max over values that never change go to {@link SparseTable}, O(1) queries</li>
+ *     <li>min and max with updates go to {@link LongSegmentTree}</li>
+ * </ul>
+ */
+public final class RangeQueries {
+
+    public enum Operation {
+        SUM,
+        MIN,
+        MAX
+    }
+
+    private RangeQueries() {
+    }
+
+    static RangeQuery immutable(long[] array, Operation operation) {
+        return switch (operation) {
+            case SUM -> new PrefixSums(array);
+            case MIN -> SparseTable.min(array);
+            case MAX -> SparseTable.max(array);
+        };
+    }
+
+    static MutableRangeQuery mutable(long[] array, Operation operation) {
+        return switch (operation) {
+            case SUM -> new FenwickTree(array);
+            case MIN -> LongSegmentTree.min(array);
+            case MAX -> LongSegmentTree.max(array);
+        };
+    }
+
+}
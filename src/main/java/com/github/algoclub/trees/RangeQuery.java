@@ -0,0 +1,12 @@
+package com.github.algoclub.trees;
+
+public interface RangeQuery {
+
+    /**
+     * Combines the values in [from, to],
+     * throws IllegalArgumentException if an index is out of bounds
+     * or the range is empty, from > to, as not every operation has an identity
+     */
+    long get(int from, int to);
+
+}
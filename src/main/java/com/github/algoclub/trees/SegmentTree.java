@@ -1,17 +1,30 @@
 package com.github.algoclub.trees;
 
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
 public final class SegmentTree {
 
     private final int[] array;
     private final int[] tree;
 
     SegmentTree(int[] array) {
-        this.array = new int[array.length];
+        this.array = array.clone();
         this.tree = new int[array.length * 2];
 
-        for (int i = 0; i < array.length; i++) {
-            add(i, array[i]);
-        }
+        build();
+    }
+
+    /**
+     * Reads the remaining ints of the buffer,
+     * the position of the buffer is not changed
+     */
+    SegmentTree(IntBuffer buffer) {
+        this.array = new int[buffer.remaining()];
+        this.tree = new int[array.length * 2];
+
+        buffer.duplicate().get(array);
+        build();
     }
 
     int get(int from, int to) {
@@ -61,6 +74,125 @@ public final class SegmentTree {
         }
     }
 
+    /**
+     * Sets values[i] at indexes[i],
+     * a repeated index ends up with its last value
+     */
+    void setAll(int[] indexes, int[] values) {
+        checkBatch(indexes, values);
+
+        for (int i = 0; i < indexes.length; i++) {
+            array[indexes[i]] = values[i];
+            tree[indexes[i] + array.length] = values[i];
+        }
+
+        recompute(indexes);
+    }
+
+    /**
+     * Adds diffs[i] at indexes[i]
+     */
+    void addAll(int[] indexes, int[] diffs) {
+        checkBatch(indexes, diffs);
+
+        for (int i = 0; i < indexes.length; i++) {
+            array[indexes[i]] += diffs[i];
+            tree[indexes[i] + array.length] += diffs[i];
+        }
+
+        recompute(indexes);
+    }
+
+    /**
+     * Every internal node is computed once
+     * from its children, O(n) instead of n updates
+     */
+    private void build() {
+        System.arraycopy(array, 0, tree, array.length, array.length);
+
+        for (int i = array.length - 1; i >= 1; i--) {
+            tree[i] = tree[2 * i] + tree[2 * i + 1];
+        }
+    }
+
+    /**
+     * Recomputes the ancestors of the changed leaves
+     * level by level from the deepest one,
+     * a node shared by several leaves is computed once
+     */
+    private void recompute(int[] indexes) {
+        int[] nodes = new int[indexes.length];
+        int count = 0;
+
+        for (int index : indexes) {
+            int parent = (index + array.length) / 2;
+
+            if (parent >= 1) {
+                nodes[count++] = parent;
+            }
+        }
+
+        Arrays.sort(nodes, 0, count);
+
+        // nodes are sorted, so the deepest level is at the end
+        int[] parents = new int[count];
+
+        while (count > 0) {
+            int depth = depth(nodes[count - 1]);
+            int level = count;
+
+            while (level > 0 && depth(nodes[level - 1]) == depth) {
+                level--;
+            }
+
+            int parentCount = 0;
+
+            for (int i = level; i < count; i++) {
+                int node = nodes[i];
+
+                if (i > level && node == nodes[i - 1]) {
+                    continue;
+                }
+
+                tree[node] = tree[2 * node] + tree[2 * node + 1];
+
+                int parent = node / 2;
+
+                if (parent >= 1 && (parentCount == 0 || parents[parentCount - 1] != parent)) {
+                    parents[parentCount++] = parent;
+                }
+            }
+
+            // merges the parents into the upper levels from the end
+            int i = level - 1;
+            int j = parentCount - 1;
+            count = level + parentCount;
+
+            for (int write = count - 1; j >= 0; write--) {
+                if (i >= 0 && nodes[i] > parents[j]) {
+                    nodes[write] = nodes[i--];
+                } else {
+                    nodes[write] = parents[j--];
+                }
+            }
+        }
+    }
+
+    private static int depth(int node) {
+        return 31 - Integer.numberOfLeadingZeros(node);
+    }
+
+    private void checkBatch(int[] indexes, int[] values) {
+        if (indexes.length != values.length) {
+            throw new IllegalArgumentException(
+                    String.format("Got %d indexes for %d values", indexes.length, values.length));
+        }
+
+        for (int index : indexes) {
+            checkIndex(index);
+        }
+    }
+
     private void checkIndex(int index) {
         if (index >= array.length || index < 0) {
             throw new IllegalArgumentException(
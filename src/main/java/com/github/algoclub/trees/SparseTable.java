@@ -0,0 +1,79 @@
+package com.github.algoclub.trees;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Range queries over values that never change
+ * for an idempotent operation like min or max:
+ * level k keeps the result for every range of 2^k values,
+ * a query combines two such ranges that overlap,
+ * so it is O(1) and reads two cells.
+ * Takes O(n log n) memory
+ */
+public final class SparseTable implements RangeQuery {
+
+    private final int n;
+    // levels[k][i] is the result for [i, i + 2^k)
+    private final long[][] levels;
+    private final LongBinaryOperator operation;
+
+    SparseTable(long[] array, LongBinaryOperator operation) {
+        this.n = array.length;
+        this.operation = operation;
+
+        int count = n == 0 ? 1 : 32 - Integer.numberOfLeadingZeros(n);
+        this.levels = new long[count][];
+        this.levels[0] = array.clone();
+
+        for (int k = 1; k < count; k++) {
+            int half = 1 << (k - 1);
+            long[] previous = levels[k - 1];
+            long[] level = new long[n - (1 << k) + 1];
+
+            for (int i = 0; i < level.length; i++) {
+                level[i] = operation.applyAsLong(previous[i], previous[i + half]);
+            }
+
+            levels[k] = level;
+        }
+    }
+
+    static SparseTable min(long[] array) {
+        return new SparseTable(array, Math::min);
+    }
+
+    static SparseTable max(long[] array) {
+        return new SparseTable(array, Math::max);
+    }
+
+    @Override
+    public long get(int from, int to) {
+        checkRange(from, to);
+
+        int k = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+        long[] level = levels[k];
+
+        return operation.applyAsLong(level[from], level[to - (1 << k) + 1]);
+    }
+
+    int size() {
+        return n;
+    }
+
+    private void checkRange(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+
+        if (from > to) {
+            throw new IllegalArgumentException(String.format("The range [%d, %d] is empty", from, to));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index >= n || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The given index %d is out of array bounds %d", index, n));
+        }
+    }
+
+}
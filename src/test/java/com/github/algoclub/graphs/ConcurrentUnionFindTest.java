@@ -0,0 +1,122 @@
+package com.github.algoclub.graphs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrentUnionFindTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 16, 1 << 20})
+    public void testThatUnionAllMatchesDenseUnionFind(int cutoff) {
+        Random random = new Random(cutoff);
+        int n = 20_000;
+        int[] src = random.ints(n, 0, n).toArray();
+        int[] dst = random.ints(n, 0, n).toArray();
+
+        DenseUnionFind expected = new DenseUnionFind(n);
+        long expectedMerged = 0;
+
+        for (int i = 0; i < n; i++) {
+            expected.find(i);
+        }
+
+        for (int i = 0; i < n; i++) {
+            expectedMerged += expected.union(src[i], dst[i]) ? 1 : 0;
+        }
+
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(n);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            assertEquals(expectedMerged, unionFind.unionAll(src, dst, pool, cutoff));
+        } finally {
+            pool.shutdown();
+        }
+
+        check(expected, unionFind, random);
+    }
+
+    @Test
+    public void testThatThreadsShareComponents() throws Exception {
+        Random random = new Random(1);
+        int n = 5_000;
+        int threads = 8;
+        int[][] src = new int[threads][];
+        int[][] dst = new int[threads][];
+
+        DenseUnionFind expected = new DenseUnionFind(n);
+
+        for (int i = 0; i < n; i++) {
+            expected.find(i);
+        }
+
+        for (int t = 0; t < threads; t++) {
+            src[t] = random.ints(n / 4, 0, n).toArray();
+            dst[t] = random.ints(n / 4, 0, n).toArray();
+
+            for (int i = 0; i < src[t].length; i++) {
+                expected.union(src[t][i], dst[t][i]);
+            }
+        }
+
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(n);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                int[] edgesFrom = src[t];
+                int[] edgesTo = dst[t];
+
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < edgesFrom.length; i++) {
+                        unionFind.union(edgesFrom[i], edgesTo[i]);
+                        unionFind.connected(edgesFrom[i], edgesTo[(i + 1) % edgesTo.length]);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        check(expected, unionFind, random);
+    }
+
+    @Test
+    public void testThatIdsAreChecked() {
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(3);
+
+        assertThrows(IllegalArgumentException.class, () -> unionFind.find(3));
+        assertThrows(IllegalArgumentException.class, () -> unionFind.union(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> unionFind.unionAll(new int[1], new int[2]));
+    }
+
+    private static void check(DenseUnionFind expected, ConcurrentUnionFind unionFind, Random random) {
+        assertEquals(expected.componentCount(), unionFind.componentCount());
+
+        for (int step = 0; step < 10_000; step++) {
+            int a = random.nextInt(unionFind.capacity());
+            int b = random.nextInt(unionFind.capacity());
+
+            assertEquals(expected.find(a) == expected.find(b), unionFind.connected(a, b));
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.github.algoclub.graphs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConnectedComponentsTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 1000, 200_000})
+    public void testThatBinaryEdgesMatchUnionFind(int edges) throws IOException {
+        Random random = new Random(edges);
+        Path file = directory.resolve("edges.bin");
+        LongUnionFind expected = new LongUnionFind();
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (int i = 0; i < edges; i++) {
+                // few high ids so that components grow
+                long src = random.nextInt(edges) * 31L << 20;
+                long dst = random.nextInt(edges) * 31L << 20;
+                output.writeLong(src);
+                output.writeLong(dst);
+                expected.union(src, dst);
+            }
+        }
+
+        ConnectedComponents components = new ConnectedComponents();
+        components.addBinary(file);
+
+        assertEquals(expected.size(), components.vertexCount());
+        assertEquals(expected.componentCount(), components.componentCount());
+
+        Path labels = directory.resolve("labels.bin");
+        components.writeLabels(labels);
+        assertEquals(components.vertexCount() * 16L, Files.size(labels));
+
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(labels))) {
+            // vertices with the same label are in one component, and the other way around
+            Map<Integer, Long> roots = new HashMap<>();
+
+            for (int i = 0; i < components.vertexCount(); i++) {
+                long vertex = input.readLong();
+                int label = (int) input.readLong();
+
+                assertEquals(components.label(vertex), label);
+                assertTrue(label >= 0 && label < components.componentCount());
+                assertEquals(roots.computeIfAbsent(label, l -> expected.find(vertex)), expected.find(vertex));
+            }
+
+            assertEquals(components.componentCount(), roots.size());
+        }
+    }
+
+    @Test
+    public void testThatTextEdgesAreParsed() throws IOException {
+        Path file = directory.resolve("edges.txt");
+        Files.writeString(file, "# a comment\n"
+                + "1 2\n"
+                + "\n"
+                + "2,3\r\n"
+                + "  -4\t-9223372036854775808\n"
+                + "9223372036854775807 -4\n"
+                + "10 11");
+
+        ConnectedComponents components = new ConnectedComponents();
+        components.addText(file);
+
+        assertEquals(8, components.vertexCount());
+        assertEquals(3, components.componentCount());
+        assertEquals(0, components.label(1));
+        assertEquals(0, components.label(3));
+        assertEquals(1, components.label(Long.MIN_VALUE));
+        assertEquals(1, components.label(Long.MAX_VALUE));
+        assertEquals(2, components.label(11));
+        assertEquals(-1, components.label(5));
+
+        SortedMap<Integer, Integer> histogram = components.sizeHistogram();
+        assertEquals(Map.of(2, 1, 3, 2), histogram);
+    }
+
+    @Test
+    public void testThatLabelsFollowNewEdges() {
+        ConnectedComponents components = new ConnectedComponents();
+        components.add(new long[]{1, 3}, new long[]{2, 4}, 2);
+
+        assertEquals(0, components.label(2));
+        assertEquals(1, components.label(4));
+
+        components.add(new long[]{4}, new long[]{1}, 1);
+
+        assertEquals(1, components.componentCount());
+        assertEquals(0, components.label(4));
+        assertEquals(Map.of(4, 1), components.sizeHistogram());
+    }
+
+    @Test
+    public void testThatMalformedFilesThrow() throws IOException {
+        ConnectedComponents components = new ConnectedComponents();
+
+        Path threeIds = directory.resolve("three.txt");
+        Files.writeString(threeIds, "1 2\n1 2 3\n");
+        IOException exception = assertThrows(IOException.class, () -> components.addText(threeIds));
+        assertTrue(exception.getMessage().contains("Line 2"));
+
+        Path letters = directory.resolve("letters.txt");
+        Files.writeString(letters, "1 x\n");
+        assertThrows(IOException.class, () -> components.addText(letters));
+
+        Path overflow = directory.resolve("overflow.txt");
+        Files.writeString(overflow, "1 9223372036854775808\n");
+        assertThrows(IOException.class, () -> components.addText(overflow));
+
+        Path truncated = directory.resolve("truncated.bin");
+        Files.write(truncated, new byte[20]);
+        assertThrows(IOException.class, () -> components.addBinary(truncated));
+    }
+
+}
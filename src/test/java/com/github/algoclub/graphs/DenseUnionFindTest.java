@@ -0,0 +1,124 @@
+package com.github.algoclub.graphs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DenseUnionFindTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 16, 1000})
+    public void testThatComponentsMatchUnionFind(int capacity) {
+        Random random = new Random(capacity);
+
+        UnionFind expected = new UnionFind();
+        DenseUnionFind unionFind = new DenseUnionFind(capacity);
+
+        boolean[] seen = new boolean[500];
+        int seenCount = 0;
+        int unions = 0;
+
+        for (int step = 0; step < 2000; step++) {
+            int a = random.nextInt(seen.length);
+            int b = random.nextInt(seen.length);
+
+            seenCount += see(seen, a) + see(seen, b);
+
+            boolean merged = expected.union(a, b);
+            assertEquals(merged, unionFind.union(a, b));
+
+            if (merged) {
+                unions++;
+            }
+
+            assertEquals(seenCount - unions, unionFind.componentCount());
+
+            int c = random.nextInt(seen.length);
+            int d = random.nextInt(seen.length);
+            assertEquals(expected.find(c) == expected.find(d), unionFind.find(c) == unionFind.find(d));
+            seenCount += see(seen, c) + see(seen, d);
+        }
+
+        for (int a = 0; a < seen.length; a++) {
+            int size = 0;
+
+            for (int b = 0; b < seen.length; b++) {
+                if (unionFind.find(a) == unionFind.find(b)) {
+                    size++;
+                }
+            }
+
+            assertEquals(size, unionFind.componentSize(a));
+        }
+    }
+
+    @Test
+    public void testThatSequentialUnionsMakeOneComponent() {
+        DenseUnionFind unionFind = new DenseUnionFind();
+        int n = 1_000_000;
+
+        for (int i = 1; i < n; i++) {
+            assertTrue(unionFind.union(i - 1, i));
+        }
+
+        assertEquals(1, unionFind.componentCount());
+        assertEquals(n, unionFind.componentSize(0));
+        assertFalse(unionFind.union(0, n - 1));
+    }
+
+    @Test
+    public void testThatDeepestTreesAreFound() {
+        DenseUnionFind unionFind = new DenseUnionFind();
+        int levels = 20;
+        int n = 1 << levels;
+
+        // merges equal blocks by their roots, the last id of every block,
+        // so no find shortens a path and id 0 ends up levels deep,
+        // the deepest tree union by size allows
+        for (int step = 1; step < n; step *= 2) {
+            for (int i = 0; i < n; i += 2 * step) {
+                assertTrue(unionFind.union(i + step - 1, i + 2 * step - 1));
+            }
+        }
+
+        assertEquals(1, unionFind.componentCount());
+        assertEquals(n - 1, unionFind.find(0));
+
+        for (int i = 0; i < n; i++) {
+            assertEquals(n - 1, unionFind.find(i));
+        }
+
+        assertEquals(n, unionFind.componentSize(0));
+    }
+
+    @Test
+    public void testThatUnseenIdsAreSingletons() {
+        DenseUnionFind unionFind = new DenseUnionFind(4);
+
+        assertEquals(0, unionFind.componentCount());
+        assertEquals(1_000, unionFind.find(1_000));
+        assertEquals(1, unionFind.componentSize(1_000));
+        assertEquals(1, unionFind.componentCount());
+        assertThrows(IllegalArgumentException.class, () -> unionFind.find(-1));
+    }
+
+    /**
+     * 1 if the id is seen for the first time
+     */
+    private static int see(boolean[] seen, int id) {
+        if (seen[id]) {
+            return 0;
+        }
+
+        seen[id] = true;
+        return 1;
+    }
+
+}
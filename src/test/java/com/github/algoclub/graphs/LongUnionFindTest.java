@@ -0,0 +1,71 @@
+package com.github.algoclub.graphs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LongUnionFindTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 16, 10_000})
+    public void testThatComponentsMatchDenseUnionFind(int capacity) {
+        Random random = new Random(capacity);
+
+        // sparse ids mapped to dense ones for the expected answers
+        long[] ids = new long[3000];
+        Map<Long, Integer> dense = new HashMap<>();
+
+        for (int i = 0; i < ids.length; i++) {
+            do {
+                ids[i] = random.nextInt(4) == 0 ? random.nextInt(100) - 50 : random.nextLong();
+            } while (dense.containsKey(ids[i]));
+
+            dense.put(ids[i], i);
+        }
+
+        // ids that differ only in the high bits
+        ids[1] = 1L << 40;
+        ids[2] = 1L << 41;
+        dense.put(ids[1], 1);
+        dense.put(ids[2], 2);
+
+        DenseUnionFind expected = new DenseUnionFind();
+        LongUnionFind unionFind = new LongUnionFind(capacity);
+
+        for (int step = 0; step < 5000; step++) {
+            int a = random.nextInt(ids.length);
+            int b = random.nextInt(ids.length);
+
+            assertEquals(expected.union(a, b), unionFind.union(ids[a], ids[b]));
+            assertEquals(expected.componentCount(), unionFind.componentCount());
+            assertEquals(expected.componentSize(a), unionFind.componentSize(ids[a]));
+
+            long root = unionFind.find(ids[b]);
+            assertEquals(expected.find(b), expected.find(dense.get(root)));
+        }
+    }
+
+    @Test
+    public void testThatIndexGivesDenseIndexes() {
+        LongIndex index = new LongIndex(0);
+
+        for (long key = 0; key < 100_000; key++) {
+            assertEquals(-1, index.get(key * 1_000_003));
+            assertEquals(key, index.getOrAdd(key * 1_000_003));
+        }
+
+        for (long key = 0; key < 100_000; key++) {
+            assertEquals(key, index.get(key * 1_000_003));
+            assertEquals(key * 1_000_003, index.key((int) key));
+        }
+
+        assertEquals(100_000, index.size());
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.github.algoclub.pattern_matching;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AhoCorasickMatcherTest {
+
+    private final SimpleMatcher simpleMatcher = new SimpleMatcher();
+
+    @Test
+    public void testThatAllPatternsAreCounted() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher("he", "she", "his", "hers", "issi", "s");
+
+        assertArrayEquals(new int[]{2, 2, 0, 1, 0, 3}, matcher.count("ushers she"));
+        assertArrayEquals(new int[]{0, 0, 0, 0, 2, 4}, matcher.count("mississippi"));
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0, 0}, matcher.count(""));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 26})
+    public void testThatCountsMatchSimpleMatcher(int alphabet) {
+        Random random = new Random(alphabet);
+        List<String> patterns = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            patterns.add(randomString(random, 1 + random.nextInt(6), alphabet));
+        }
+
+        // duplicates and chars out of the alphabet of the text
+        patterns.add(patterns.get(0));
+        patterns.add("\u044f\u0437");
+
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(patterns);
+
+        // shorter and longer texts than the automaton take different ways to count
+        for (int length : new int[]{0, 10, 100, 5000}) {
+            String text = randomString(random, length, alphabet + 1);
+            int[] counts = matcher.count(text);
+
+            for (int i = 0; i < patterns.size(); i++) {
+                assertEquals(simpleMatcher.find(text, patterns.get(i)), counts[i], patterns.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testThatCountsAreAccumulated() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher("ab", "b");
+        int[] counts = new int[2];
+
+        matcher.count("abab", counts);
+        matcher.count("bb", counts);
+
+        assertArrayEquals(new int[]{2, 4}, counts);
+        assertThrows(IllegalArgumentException.class, () -> matcher.count("ab", new int[1]));
+    }
+
+    @Test
+    public void testThatPositionsAreReported() {
+        String[] patterns = {"a", "aa", "ab", "bab", "aa"};
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(patterns);
+        String text = "aabab\u0000aa";
+
+        List<String> expected = new ArrayList<>();
+
+        for (int end = 1; end <= text.length(); end++) {
+            for (int p = 0; p < patterns.length; p++) {
+                int start = end - patterns[p].length();
+
+                if (start >= 0 && text.startsWith(patterns[p], start)) {
+                    expected.add(p + "@" + start);
+                }
+            }
+        }
+
+        List<String> actual = new ArrayList<>();
+        matcher.find(text, (pattern, position) -> actual.add(pattern + "@" + position));
+
+        expected.sort(null);
+        actual.sort(null);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testThatEmptyPatternsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasickMatcher("a", ""));
+        assertArrayEquals(new int[0], new AhoCorasickMatcher().count("abc"));
+    }
+
+    private static String randomString(Random random, int length, int alphabet) {
+        StringBuilder builder = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(alphabet)));
+        }
+
+        return builder.toString();
+    }
+
+}
@@ -2,14 +2,17 @@ package com.github.algoclub.pattern_matching;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 public class PatternMatcherTest {
@@ -44,6 +47,19 @@ public class PatternMatcherTest {
         );
     }
 
+    public static Stream<PatternMatcher> matchers() {
+        return Stream.of(
+                new SimpleMatcher(),
+                new RabinKarpMatcher(),
+                new KnuthMorrisPrattMatcher(),
+                new BoyerMooreMatcher(),
+                new HorspoolMatcher(),
+                new TwoWayMatcher(),
+                new RabinKarp64Matcher(),
+                new AdaptiveMatcher()
+        );
+    }
+
     @Nested
     @DisplayName("Simple matcher tests")
     class SimpleMatcherTest {
@@ -68,4 +84,188 @@ public class PatternMatcherTest {
         }
     }
 
+    @Nested
+    @DisplayName("Knuth-Morris-Pratt matcher tests")
+    class KnuthMorrisPrattMatcherTest {
+        private final KnuthMorrisPrattMatcher knuthMorrisPrattMatcher = new KnuthMorrisPrattMatcher();
+
+        @ParameterizedTest
+        @MethodSource("com.github.algoclub.pattern_matching.PatternMatcherTest#values")
+        public void testThatMatchingWorksFine(String origin, String pattern, int expectedCount) {
+            assertEquals(expectedCount, knuthMorrisPrattMatcher.find(origin, pattern));
+        }
+    }
+
+    @Nested
+    @DisplayName("Boyer-Moore matcher tests")
+    class BoyerMooreMatcherTest {
+        private final BoyerMooreMatcher boyerMooreMatcher = new BoyerMooreMatcher();
+
+        @ParameterizedTest
+        @MethodSource("com.github.algoclub.pattern_matching.PatternMatcherTest#values")
+        public void testThatMatchingWorksFine(String origin, String pattern, int expectedCount) {
+            assertEquals(expectedCount, boyerMooreMatcher.find(origin, pattern));
+        }
+    }
+
+    @Nested
+    @DisplayName("Horspool matcher tests")
+    class HorspoolMatcherTest {
+        private final HorspoolMatcher horspoolMatcher = new HorspoolMatcher();
+
+        @ParameterizedTest
+        @MethodSource("com.github.algoclub.pattern_matching.PatternMatcherTest#values")
+        public void testThatMatchingWorksFine(String origin, String pattern, int expectedCount) {
+            assertEquals(expectedCount, horspoolMatcher.find(origin, pattern));
+        }
+    }
+
+    @Nested
+    @DisplayName("Two-Way matcher tests")
+    class TwoWayMatcherTest {
+        private final TwoWayMatcher twoWayMatcher = new TwoWayMatcher();
+        private final SimpleMatcher simpleMatcher = new SimpleMatcher();
+
+        @ParameterizedTest
+        @MethodSource("com.github.algoclub.pattern_matching.PatternMatcherTest#values")
+        public void testThatMatchingWorksFine(String origin, String pattern, int expectedCount) {
+            assertEquals(expectedCount, twoWayMatcher.find(origin, pattern));
+        }
+
+        @Test
+        public void testThatEveryBinaryPatternIsFound() {
+            Random random = new Random(11);
+            StringBuilder builder = new StringBuilder();
+
+            for (int i = 0; i < 2000; i++) {
+                builder.append(random.nextInt(3) == 0 ? 'b' : 'a');
+            }
+
+            String origin = builder.toString();
+
+            // both periodic and non periodic factorizations, every critical position
+            for (int length = 1; length <= 10; length++) {
+                for (int bits = 0; bits < 1 << length; bits++) {
+                    StringBuilder pattern = new StringBuilder();
+
+                    for (int i = 0; i < length; i++) {
+                        pattern.append((bits >> i & 1) == 0 ? 'a' : 'b');
+                    }
+
+                    assertEquals(simpleMatcher.find(origin, pattern.toString()),
+                            twoWayMatcher.find(origin, pattern.toString()), pattern.toString());
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Rabin-Karp 64 matcher tests")
+    class RabinKarp64MatcherTest {
+        private final RabinKarp64Matcher rabinKarp64Matcher = new RabinKarp64Matcher();
+
+        @ParameterizedTest
+        @MethodSource("com.github.algoclub.pattern_matching.PatternMatcherTest#values")
+        public void testThatMatchingWorksFine(String origin, String pattern, int expectedCount) {
+            assertEquals(expectedCount, rabinKarp64Matcher.find(origin, pattern));
+        }
+    }
+
+    @Nested
+    @DisplayName("Adaptive matcher tests")
+    class AdaptiveMatcherTest {
+        private final AdaptiveMatcher adaptiveMatcher = new AdaptiveMatcher();
+
+        @ParameterizedTest
+        @MethodSource("com.github.algoclub.pattern_matching.PatternMatcherTest#values")
+        public void testThatMatchingWorksFine(String origin, String pattern, int expectedCount) {
+            assertEquals(expectedCount, adaptiveMatcher.find(origin, pattern));
+        }
+
+        @Test
+        public void testThatMatcherIsChosenByPattern() {
+            assertInstanceOf(SimpleMatcher.class, AdaptiveMatcher.choose("ab"));
+            assertInstanceOf(HorspoolMatcher.class, AdaptiveMatcher.choose("exception"));
+            assertInstanceOf(RabinKarp64Matcher.class, AdaptiveMatcher.choose("ACGTA"));
+            assertInstanceOf(BoyerMooreMatcher.class, AdaptiveMatcher.choose("ACGTTGCAACGT"));
+            assertInstanceOf(TwoWayMatcher.class, AdaptiveMatcher.choose("ACGACGACGAC"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Compiled pattern tests")
+    class CompiledPatternTest {
+        private final SimpleMatcher simpleMatcher = new SimpleMatcher();
+
+        @ParameterizedTest
+        @MethodSource("com.github.algoclub.pattern_matching.PatternMatcherTest#matchers")
+        public void testThatCompiledPatternsMatchValues(PatternMatcher matcher) {
+            values().forEach(arguments -> {
+                Object[] values = arguments.get();
+                CompiledPattern compiled = matcher.compile((String) values[1]);
+
+                // the same compiled pattern for several texts
+                assertEquals(values[2], compiled.find((String) values[0]));
+                assertEquals(values[2], compiled.find((String) values[0]));
+                assertEquals(0, compiled.find(""));
+            });
+        }
+
+        @ParameterizedTest
+        @MethodSource("com.github.algoclub.pattern_matching.PatternMatcherTest#matchers")
+        public void testThatRandomTextsMatchSimpleMatcher(PatternMatcher matcher) {
+            Random random = new Random(7);
+
+            for (int i = 0; i < 200; i++) {
+                int alphabet = 1 + random.nextInt(4);
+                String pattern = randomString(random, 1 + random.nextInt(8), alphabet);
+                CompiledPattern compiled = matcher.compile(pattern);
+
+                for (int j = 0; j < 5; j++) {
+                    // chars that share the low byte with the pattern ones
+                    String origin = randomString(random, random.nextInt(300), alphabet)
+                            .replace('d', (char) ('a' + 256));
+
+                    assertEquals(simpleMatcher.find(origin, pattern), compiled.find(origin), pattern + " in " + origin);
+                    assertEquals(simpleMatcher.find(origin, pattern), matcher.find(origin, pattern));
+                }
+            }
+        }
+
+        @ParameterizedTest
+        @MethodSource("com.github.algoclub.pattern_matching.PatternMatcherTest#matchers")
+        public void testThatCompiledPatternsAreShared(PatternMatcher matcher) throws InterruptedException {
+            String origin = "abracadabra ".repeat(1000);
+            CompiledPattern compiled = matcher.compile("abra");
+            int[] counts = new int[4];
+            Thread[] threads = new Thread[counts.length];
+
+            for (int t = 0; t < threads.length; t++) {
+                int index = t;
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 20; i++) {
+                        counts[index] += compiled.find(origin);
+                    }
+                });
+                threads[t].start();
+            }
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertArrayEquals(new int[]{40_000, 40_000, 40_000, 40_000}, counts);
+        }
+
+        private String randomString(Random random, int length, int alphabet) {
+            StringBuilder builder = new StringBuilder(length);
+
+            for (int i = 0; i < length; i++) {
+                builder.append((char) ('a' + random.nextInt(alphabet)));
+            }
+
+            return builder.toString();
+        }
+    }
+
 }
@@ -0,0 +1,118 @@
+package com.github.algoclub.pattern_matching;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StreamMatcherTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 64, 4096})
+    public void testThatMatchesAcrossBuffersAreFound(int bufferSize) throws IOException {
+        Random random = new Random(bufferSize);
+        byte[] text = randomBytes(random, 20_000, 3);
+        Path file = directory.resolve("text.bin");
+        Files.write(file, text);
+
+        for (int length = 1; length <= 9; length += 2) {
+            int from = random.nextInt(text.length - length);
+            byte[] pattern = Arrays.copyOfRange(text, from, from + length);
+            List<Long> expected = naive(text, pattern);
+
+            // many buffers and windows, every mapping lives until it's collected so windows are bigger
+            StreamMatcher matcher = new StreamMatcher(pattern, bufferSize, 512 * bufferSize);
+
+            List<Long> fromStream = new ArrayList<>();
+            matcher.find(new ByteArrayInputStream(text), fromStream::add);
+            assertEquals(expected, fromStream);
+
+            List<Long> fromFile = new ArrayList<>();
+            matcher.find(file, fromFile::add);
+            assertEquals(expected, fromFile);
+
+            assertEquals(expected.size(), matcher.count(new ByteArrayInputStream(text)));
+            assertEquals(expected.size(), matcher.count(file));
+        }
+    }
+
+    @Test
+    public void testThatStringPatternsAreMatchedAsUtf8() throws IOException {
+        String text = "\u043b\u043e\u0433: \u043e\u0448\u0438\u0431\u043a\u0430, \u043e\u0448\u0438\u0431\u043a\u0430!";
+        StreamMatcher matcher = new StreamMatcher("\u043e\u0448\u0438\u0431\u043a\u0430");
+
+        List<Long> offsets = new ArrayList<>();
+        matcher.find(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), offsets::add);
+
+        assertEquals(List.of(8L, 22L), offsets);
+    }
+
+    @Test
+    public void testThatShortAndEmptyInputsHaveNoMatches() throws IOException {
+        Path empty = Files.write(directory.resolve("empty.bin"), new byte[0]);
+        Path shorter = Files.write(directory.resolve("short.bin"), "ab".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(0, new StreamMatcher("abc").count(empty));
+        assertEquals(0, new StreamMatcher("abc").count(shorter));
+        assertEquals(0, new StreamMatcher("abc").count(new ByteArrayInputStream(new byte[0])));
+        assertEquals(0, new StreamMatcher("").count(shorter));
+        assertEquals(1, new StreamMatcher("ab").count(shorter));
+    }
+
+    @Test
+    public void testThatNonBlockingChannelsAreRejected() throws IOException {
+        Pipe pipe = Pipe.open();
+
+        try (Pipe.SinkChannel sink = pipe.sink(); Pipe.SourceChannel source = pipe.source()) {
+            source.configureBlocking(false);
+            assertThrows(IllegalArgumentException.class, () -> new StreamMatcher("abc").count(source));
+        }
+    }
+
+    private static List<Long> naive(byte[] text, byte[] pattern) {
+        List<Long> offsets = new ArrayList<>();
+
+        for (int i = 0; i + pattern.length <= text.length; i++) {
+            int j = 0;
+
+            while (j < pattern.length && text[i + j] == pattern[j]) {
+                j++;
+            }
+
+            if (j == pattern.length) {
+                offsets.add((long) i);
+            }
+        }
+
+        return offsets;
+    }
+
+    private static byte[] randomBytes(Random random, int length, int alphabet) {
+        byte[] bytes = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            // bytes over 127 too, they are signed in Java
+            bytes[i] = (byte) (random.nextInt(alphabet) * 100);
+        }
+
+        return bytes;
+    }
+
+}
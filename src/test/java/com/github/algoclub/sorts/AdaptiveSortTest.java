@@ -0,0 +1,60 @@
+package com.github.algoclub.sorts;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AdaptiveSortTest {
+
+    @Test
+    public void testThatEngineDependsOnInput() {
+        Random random = new Random(1);
+
+        int[] small = random.ints(100).toArray();
+        int[] shuffled = random.ints(100_000).toArray();
+        int[] presorted = IntStream.range(0, 100_000).map(i -> i % 1000 == 0 ? -i : i).toArray();
+        int[] descending = IntStream.range(0, 100_000).map(i -> -i).toArray();
+
+        assertEquals(AdaptiveSort.Engine.TIM_SORT, sortAndCheck(small));
+        assertEquals(AdaptiveSort.Engine.RADIX_SORT, sortAndCheck(shuffled));
+        assertEquals(AdaptiveSort.Engine.TIM_SORT, sortAndCheck(presorted));
+        assertEquals(AdaptiveSort.Engine.TIM_SORT, sortAndCheck(descending));
+    }
+
+    @Test
+    public void testThatKeysAreSortedByEitherEngine() {
+        Random random = new Random(2);
+
+        String[] strings = random.ints(5000, 0, 1 << 20).mapToObj(Integer::toHexString).toArray(String[]::new);
+        String[] expectedStrings = strings.clone();
+        Arrays.sort(expectedStrings);
+
+        assertEquals(AdaptiveSort.Engine.RADIX_SORT, AdaptiveSort.sort(strings));
+        assertArrayEquals(expectedStrings, strings);
+        assertEquals(AdaptiveSort.Engine.TIM_SORT, AdaptiveSort.sort(strings));
+        assertArrayEquals(expectedStrings, strings);
+
+        long[] longs = random.longs(5000).toArray();
+        long[] expectedLongs = longs.clone();
+        Arrays.sort(expectedLongs);
+
+        assertEquals(AdaptiveSort.Engine.RADIX_SORT, AdaptiveSort.sort(longs));
+        assertArrayEquals(expectedLongs, longs);
+    }
+
+    private static AdaptiveSort.Engine sortAndCheck(int[] array) {
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+
+        AdaptiveSort.Engine engine = AdaptiveSort.sort(array);
+
+        assertArrayEquals(expected, array);
+        return engine;
+    }
+
+}
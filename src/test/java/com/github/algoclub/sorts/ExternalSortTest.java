@@ -0,0 +1,82 @@
+package com.github.algoclub.sorts;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class ExternalSortTest {
+
+    @TempDir
+    Path directory;
+
+    public static Stream<Arguments> values() {
+        return Stream.of(
+                // everything fits into one run
+                arguments(RecordFormat.fixedWidth(8), 100, 1 << 20, 4),
+                arguments(RecordFormat.fixedWidth(8), 0, 1 << 20, 4),
+                // many runs and several merge passes
+                arguments(RecordFormat.fixedWidth(8), 20_000, 1 << 14, 3),
+                arguments(RecordFormat.fixedWidth(5000), 300, 1 << 14, 2),
+                arguments(RecordFormat.lengthPrefixed(), 20_000, 1 << 14, 4),
+                arguments(RecordFormat.lengthPrefixed(), 5_000, 1 << 16, ExternalSort.DEFAULT_FAN_IN)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    public void testThatSortingWorksFine(RecordFormat format, int count, long memoryBudget, int fanIn) throws IOException {
+        Random random = new Random(count);
+        List<byte[]> records = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            byte[] record = new byte[format.isFixedWidth() ? format.width() : random.nextInt(40)];
+            random.nextBytes(record);
+            records.add(record);
+        }
+
+        Path input = directory.resolve("input");
+        Path output = directory.resolve("output");
+
+        try (RecordWriter writer = new RecordWriter(input, format, 1 << 12)) {
+            for (byte[] record : records) {
+                writer.write(record);
+            }
+        }
+
+        // only the first byte is compared,
+        // the rest shows if equal records kept their order
+        Comparator<byte[]> comparator = Comparator.comparingInt(record -> record.length == 0 ? -1 : record[0] & 0xFF);
+
+        new ExternalSort(format, comparator, memoryBudget, directory, fanIn).sort(input, output);
+
+        records.sort(comparator);
+
+        try (RecordReader reader = new RecordReader(output, format, 1 << 12)) {
+            for (byte[] record : records) {
+                assertArrayEquals(record, reader.next());
+            }
+
+            assertEquals(null, reader.next());
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("input", "output"), files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+    }
+
+}
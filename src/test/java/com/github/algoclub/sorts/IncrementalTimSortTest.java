@@ -0,0 +1,66 @@
+package com.github.algoclub.sorts;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IncrementalTimSortTest {
+
+    private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(pair -> pair[0]);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 100, 1000})
+    public void testThatBatchesAreSortedAndStable(int batchSize) {
+        Random random = new Random(batchSize);
+
+        IncrementalTimSort<int[]> sorter = new IncrementalTimSort<>(BY_KEY);
+        List<int[]> expected = new ArrayList<>();
+
+        int time = 0;
+
+        for (int round = 0; round < 30; round++) {
+            int[][] batch = new int[random.nextInt(batchSize) + 1][];
+
+            // mostly increasing keys with late events
+            for (int i = 0; i < batch.length; i++) {
+                int key = random.nextInt(10) == 0 ? time - random.nextInt(200) : time++;
+                batch[i] = new int[] {key / 4, expected.size() + i};
+            }
+
+            if (round % 3 == 0) {
+                for (int[] item : batch) {
+                    sorter.add(item);
+                }
+            } else {
+                sorter.append(batch);
+            }
+
+            expected.addAll(List.of(batch));
+            expected.sort(BY_KEY);
+
+            assertEquals(expected, sorter.sorted());
+        }
+
+        assertEquals(expected.size(), sorter.size());
+    }
+
+    @Test
+    public void testThatClearDropsItems() {
+        IncrementalTimSort<Integer> sorter = new IncrementalTimSort<>(Integer::compare);
+
+        sorter.append(new Integer[] {3, 1, 2});
+        sorter.clear();
+        sorter.append(new Integer[] {5, 4});
+
+        assertEquals(List.of(4, 5), sorter.sorted());
+        assertEquals(2, sorter.size());
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.github.algoclub.sorts;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class KWayMergeTest {
+
+    private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(pair -> pair[0]);
+
+    public static Stream<Arguments> values() {
+        return Stream.of(
+                arguments(0, 0, 1),
+                arguments(1, 0, 1),
+                arguments(1, 100, 10),
+                arguments(3, 5, 2),
+                arguments(5, 1_000, 10),
+                // long streaks of the same source
+                arguments(4, 1_000, 1_000),
+                arguments(7, 3_000, 50),
+                arguments(64, 200, 3)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    public void testThatMergeEqualsStableSortOfConcatenation(int k, int size, int cluster) {
+        int[][][] sources = generate(k, size, cluster);
+        int[][] expected = expected(sources);
+
+        assertArrayEquals(expected, KWayMerge.merge(sources, BY_KEY));
+
+        List<int[]> consumed = new ArrayList<>();
+        KWayMerge.merge(sources, BY_KEY, consumed::add);
+        assertArrayEquals(expected, consumed.toArray(new int[0][]));
+
+        List<Iterator<int[]>> iterators = Arrays.stream(sources)
+                .map(source -> Arrays.asList(source).iterator())
+                .collect(Collectors.toList());
+
+        Iterator<int[]> merged = KWayMerge.merge(iterators, BY_KEY);
+        List<int[]> iterated = new ArrayList<>();
+        merged.forEachRemaining(iterated::add);
+
+        assertArrayEquals(expected, iterated.toArray(new int[0][]));
+        assertFalse(merged.hasNext());
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    public void testThatPrimitiveMergeEqualsSort(int k, int size, int cluster) {
+        int[][][] sources = generate(k, size, cluster);
+
+        int[][] ints = new int[k][];
+        long[][] longs = new long[k][];
+
+        for (int i = 0; i < k; i++) {
+            ints[i] = Arrays.stream(sources[i]).mapToInt(pair -> pair[0] - size).toArray();
+            longs[i] = Arrays.stream(ints[i]).mapToLong(key -> (long) key * Integer.MAX_VALUE).toArray();
+        }
+
+        int[] expectedInts = Arrays.stream(ints).flatMapToInt(Arrays::stream).sorted().toArray();
+        long[] expectedLongs = Arrays.stream(longs).flatMapToLong(Arrays::stream).sorted().toArray();
+
+        assertArrayEquals(expectedInts, KWayMerge.merge(ints));
+        assertArrayEquals(expectedLongs, KWayMerge.merge(longs));
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    public void testThatIteratorMergeIsLazy(int k, int size, int cluster) {
+        int[][][] sources = generate(k, size, cluster);
+        int[][] expected = expected(sources);
+
+        int[] read = new int[1];
+        List<Iterator<int[]>> iterators = new ArrayList<>();
+
+        for (int[][] source : sources) {
+            Iterator<int[]> iterator = Arrays.asList(source).iterator();
+
+            iterators.add(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public int[] next() {
+                    read[0]++;
+                    return iterator.next();
+                }
+            });
+        }
+
+        Iterator<int[]> merged = KWayMerge.merge(iterators, BY_KEY);
+
+        for (int i = 0; i < expected.length / 2; i++) {
+            assertArrayEquals(expected[i], merged.next());
+        }
+
+        // at most one head per source is read ahead
+        assertTrue(read[0] <= expected.length / 2 + k);
+    }
+
+    /**
+     * The stable sort of all sources
+     * one after another
+     */
+    private static int[][] expected(int[][][] sources) {
+        int[][] expected = Arrays.stream(sources).flatMap(Arrays::stream).toArray(int[][]::new);
+        TimSort.sort(expected, BY_KEY);
+        return expected;
+    }
+
+    /**
+     * Sorted sources of [key, source, index],
+     * keys come in clusters of the given size
+     * and repeat across the sources
+     */
+    private static int[][][] generate(int k, int size, int cluster) {
+        Random random = new Random(k * 31L + size);
+        int[][][] sources = new int[k][][];
+
+        for (int source = 0; source < k; source++) {
+            int length = random.nextInt(size + 1);
+            sources[source] = new int[length][];
+
+            int key = 0;
+
+            for (int i = 0; i < length; i++) {
+                if (i % cluster == 0) {
+                    key += random.nextInt(3 * cluster + 1);
+                }
+
+                sources[source][i] = new int[] {key, source, i};
+                key += random.nextInt(2);
+            }
+        }
+
+        return sources;
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.github.algoclub.sorts;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class PartialSortTest {
+
+    private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(pair -> pair[0]);
+
+    public static Stream<Arguments> values() {
+        return Stream.of(
+                arguments(0, 0),
+                arguments(10, 0),
+                arguments(10, 3),
+                arguments(10, 10),
+                arguments(10, 50),
+                arguments(10_000, 100),
+                arguments(10_000, 9_999)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    public void testThatTopKIsTheSortedPrefix(int size, int k) {
+        int[][] array = generate(size);
+
+        int[][] expected = array.clone();
+        TimSort.sort(expected, BY_KEY);
+        expected = Arrays.copyOf(expected, Math.min(k, size));
+
+        assertArrayEquals(expected, PartialSort.topK(array, k, BY_KEY));
+        assertEquals(List.of(expected), PartialSort.topK(Arrays.stream(array), k, BY_KEY, true));
+
+        // without stability only the keys should match
+        int[][] unstable = PartialSort.topK(array, k, BY_KEY, false);
+        assertArrayEquals(Arrays.stream(expected).mapToInt(pair -> pair[0]).toArray(),
+                Arrays.stream(unstable).mapToInt(pair -> pair[0]).toArray());
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    public void testThatSortPrefixKeepsAllItems(int size, int k) {
+        int[][] array = generate(size);
+
+        int[][] expected = array.clone();
+        TimSort.sort(expected, BY_KEY);
+
+        PartialSort.sortPrefix(array, k, BY_KEY);
+
+        int prefix = Math.min(k, size);
+        assertArrayEquals(Arrays.copyOf(expected, prefix), Arrays.copyOf(array, prefix));
+
+        // the rest is a permutation of the remaining items
+        TimSort.sort(array, BY_KEY);
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void testThatHugeKDoesNotAllocateForShortStreams() {
+        int[][] array = generate(10);
+
+        int[][] expected = array.clone();
+        TimSort.sort(expected, BY_KEY);
+
+        // would be gigabytes if the heap was sized by k up front
+        assertEquals(List.of(expected), PartialSort.topK(Arrays.stream(array), Integer.MAX_VALUE, BY_KEY, true));
+        assertEquals(List.of(expected), PartialSort.topK(Arrays.asList(array).iterator(), Integer.MAX_VALUE, BY_KEY, true));
+        assertArrayEquals(expected, PartialSort.topK(array, Integer.MAX_VALUE, BY_KEY));
+    }
+
+    private static int[][] generate(int size) {
+        Random random = new Random(size);
+        int[][] array = new int[size][];
+
+        for (int i = 0; i < size; i++) {
+            array[i] = new int[] {random.nextInt(size / 4 + 1), i};
+        }
+
+        return array;
+    }
+
+}
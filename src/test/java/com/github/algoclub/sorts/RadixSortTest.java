@@ -0,0 +1,100 @@
+package com.github.algoclub.sorts;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RadixSortTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 31, 100, 10_000})
+    public void testThatIntSortingWorksFine(int size) {
+        Random random = new Random(size);
+        int[] array = random.ints(size).toArray();
+
+        if (size > 2) {
+            array[0] = Integer.MIN_VALUE;
+            array[1] = Integer.MAX_VALUE;
+            array[2] = -1;
+        }
+
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+
+        RadixSort.sort(array);
+
+        assertArrayEquals(expected, array);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 31, 100, 10_000})
+    public void testThatLongSortingWorksFine(int size) {
+        Random random = new Random(size);
+        // small values leave the high bytes the same
+        long[] array = random.longs(size, -1000, 1000).toArray();
+
+        if (size > 2) {
+            array[0] = Long.MIN_VALUE;
+            array[1] = Long.MAX_VALUE;
+        }
+
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+
+        RadixSort.sort(array);
+
+        assertArrayEquals(expected, array);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 20, 1000, 20_000})
+    public void testThatStringSortingWorksFine(int size) {
+        Random random = new Random(size);
+        String[] array = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            StringBuilder builder = new StringBuilder("https://example.com/");
+            int length = random.nextInt(6);
+
+            for (int j = 0; j < length; j++) {
+                builder.append((char) (random.nextBoolean() ? 'a' + random.nextInt(3) : random.nextInt(0x3000)));
+            }
+
+            array[i] = builder.toString();
+        }
+
+        String[] expected = array.clone();
+        Arrays.sort(expected);
+
+        RadixSort.sort(array);
+
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void testThatByteSortingIsStable() {
+        Random random = new Random(3);
+        byte[][] array = new byte[5000][];
+
+        for (int i = 0; i < array.length; i++) {
+            array[i] = new byte[random.nextInt(4)];
+            random.nextBytes(array[i]);
+        }
+
+        byte[][] expected = array.clone();
+        Arrays.sort(expected, Arrays::compareUnsigned);
+
+        RadixSort.sort(array);
+
+        for (int i = 0; i < array.length; i++) {
+            assertSame(expected[i], array[i]);
+        }
+    }
+
+}
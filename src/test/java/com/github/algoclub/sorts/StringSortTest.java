@@ -0,0 +1,93 @@
+package com.github.algoclub.sorts;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StringSortTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 16, 17, 1000, 50_000})
+    public void testThatStringSortingWorksFine(int size) {
+        String[] array = generate(size);
+
+        String[] expected = array.clone();
+        Arrays.sort(expected);
+
+        StringSort.sort(array);
+
+        assertArrayEquals(expected, array);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 17, 1000, 50_000})
+    public void testThatByteSortingWorksFine(int size) {
+        Random random = new Random(size);
+        byte[][] array = new byte[size][];
+
+        for (int i = 0; i < size; i++) {
+            array[i] = new byte[random.nextInt(6)];
+            random.nextBytes(array[i]);
+
+            // few different bytes give long equal prefixes
+            for (int j = 0; j < array[i].length; j++) {
+                array[i][j] &= (byte) 0x81;
+            }
+        }
+
+        byte[][] expected = array.clone();
+        Arrays.sort(expected, Arrays::compareUnsigned);
+
+        StringSort.sort(array);
+
+        assertEquals(expected.length, array.length);
+        for (int i = 0; i < array.length; i++) {
+            assertArrayEquals(expected[i], array[i]);
+        }
+    }
+
+    @Test
+    public void testThatStableSortingMatchesTimSort() {
+        // equal strings are different instances
+        String[] array = Arrays.stream(generate(20_000)).map(String::new).toArray(String[]::new);
+
+        String[] expected = array.clone();
+        TimSort.sort(expected);
+
+        StringSort.sort(array, true);
+
+        for (int i = 0; i < array.length; i++) {
+            assertSame(expected[i], array[i]);
+        }
+    }
+
+    /**
+     * URLs with a long shared prefix,
+     * a few of them repeat
+     */
+    private static String[] generate(int size) {
+        Random random = new Random(size);
+        String[] array = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            StringBuilder builder = new StringBuilder("https://example.com/api/");
+            int length = random.nextInt(8);
+
+            for (int j = 0; j < length; j++) {
+                builder.append((char) (random.nextBoolean() ? 'a' + random.nextInt(3) : random.nextInt(0x10000)));
+            }
+
+            array[i] = builder.toString();
+        }
+
+        return array;
+    }
+
+}
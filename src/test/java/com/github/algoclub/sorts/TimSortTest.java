@@ -1,14 +1,22 @@
 package com.github.algoclub.sorts;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 public class TimSortTest {
@@ -66,4 +74,136 @@ public class TimSortTest {
         assertArrayEquals(actual, expected);
     }
 
+    /**
+     * Sorted runs with random elements
+     * moved around, big enough to
+     * trigger merges and galloping
+     */
+    public static Stream<Arguments> partiallySorted() {
+        return IntStream.of(0, 1, 2, 3, 4, 5).mapToObj(seed -> {
+            Random random = new Random(seed);
+            int size = 1 + random.nextInt(5000);
+
+            int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = seed % 2 == 0 ? i / 3 : size - i;
+            }
+
+            for (int i = 0; i < size / (seed + 1); i += 1 + random.nextInt(50)) {
+                array[i] = random.nextInt(size) - size / 2;
+            }
+
+            return arguments(array);
+        });
+    }
+
+    @ParameterizedTest
+    @MethodSource("partiallySorted")
+    public void testThatSortingIsStable(int[] array) {
+        Integer[][] pairs = IntStream.range(0, array.length)
+                .mapToObj(i -> new Integer[] {array[i] / 8, i})
+                .toArray(Integer[][]::new);
+
+        Integer[][] expected = pairs.clone();
+        Arrays.sort(expected, Comparator.comparing(pair -> pair[0]));
+
+        TimSort.sort(pairs, Comparator.comparing(pair -> pair[0]));
+
+        assertArrayEquals(expected, pairs);
+    }
+
+    @ParameterizedTest
+    @MethodSource("partiallySorted")
+    public void testThatPrimitiveSortingWorksFine(int[] array) {
+        int[] expectedInts = array.clone();
+        Arrays.sort(expectedInts);
+        int[] actualInts = array.clone();
+        TimSort.sort(actualInts);
+        assertArrayEquals(expectedInts, actualInts);
+
+        long[] expectedLongs = Arrays.stream(array).mapToLong(i -> i * 1_000_000_000L).toArray();
+        long[] actualLongs = expectedLongs.clone();
+        Arrays.sort(expectedLongs);
+        TimSort.sort(actualLongs);
+        assertArrayEquals(expectedLongs, actualLongs);
+
+        double[] expectedDoubles = Arrays.stream(array).mapToDouble(i -> i % 7 == 0 ? -0.0 : i / 3.0).toArray();
+        expectedDoubles[0] = Double.NaN;
+        double[] actualDoubles = expectedDoubles.clone();
+        Arrays.sort(expectedDoubles);
+        TimSort.sort(actualDoubles);
+        assertArrayEquals(expectedDoubles, actualDoubles);
+    }
+
+    @ParameterizedTest
+    @MethodSource("partiallySorted")
+    public void testThatParallelSortingMatchesSequential(int[] array) {
+        Integer[][] pairs = IntStream.range(0, array.length)
+                .mapToObj(i -> new Integer[] {array[i] / 8, i})
+                .toArray(Integer[][]::new);
+
+        Integer[][] expected = pairs.clone();
+        TimSort.sort(expected, Comparator.comparing(pair -> pair[0]));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TimSort.parallelSort(pairs, Comparator.comparing(pair -> pair[0]), 16, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertArrayEquals(expected, pairs);
+    }
+
+    @Test
+    public void testThatReusedSorterDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        Random random = new Random(7);
+        Integer[] source = random.ints(2000, 0, 100).boxed().toArray(Integer[]::new);
+        long[] primitiveSource = random.longs(2000).toArray();
+
+        Integer[] array = new Integer[source.length];
+        long[] primitiveArray = new long[primitiveSource.length];
+
+        TimSort<Integer> sorter = new TimSort<>(Integer::compare);
+        LongTimSort primitiveSorter = new LongTimSort();
+
+        long allocated = 0;
+
+        // the first rounds warm the buffers up
+        for (int round = 0; round < 10; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+
+            System.arraycopy(source, 0, array, 0, source.length);
+            sorter.sort(array, 0, array.length);
+
+            System.arraycopy(primitiveSource, 0, primitiveArray, 0, primitiveSource.length);
+            primitiveSorter.sort(primitiveArray);
+
+            allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+
+        assertTrue(allocated < 256, String.format("Allocated %d bytes", allocated));
+    }
+
+    @ParameterizedTest
+    @MethodSource("partiallySorted")
+    public void testThatSortingByKeyIsStable(int[] array) {
+        Integer[][] pairs = IntStream.range(0, array.length)
+                .mapToObj(i -> new Integer[] {array[i] / 8, i})
+                .toArray(Integer[][]::new);
+
+        Integer[][] expected = pairs.clone();
+        Arrays.sort(expected, Comparator.comparing(pair -> pair[0]));
+
+        Integer[][] byLongKey = pairs.clone();
+        TimSort.sortByLongKey(byLongKey, pair -> pair[0] * 10_000_000_000L);
+        assertArrayEquals(expected, byLongKey);
+
+        Integer[][] byIntKey = pairs.clone();
+        TimSort.sortByIntKey(byIntKey, pair -> pair[0]);
+        assertArrayEquals(expected, byIntKey);
+    }
+
 }
@@ -0,0 +1,154 @@
+package com.github.algoclub.trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentSegmentTreeTest {
+
+    @Test
+    public void testThatQueriesMatchSegmentTree() {
+        Random random = new Random(5);
+        int[] array = random.ints(37, -100, 100).toArray();
+
+        SegmentTree expected = new SegmentTree(array);
+        ConcurrentSegmentTree tree = new ConcurrentSegmentTree(new long[array.length]);
+
+        for (int i = 0; i < array.length; i++) {
+            tree.set(i, array[i]);
+        }
+
+        for (int step = 0; step < 1000; step++) {
+            int index = random.nextInt(array.length);
+            int value = random.nextInt(200) - 100;
+
+            if (random.nextBoolean()) {
+                expected.add(index, value);
+                tree.add(index, value);
+            } else {
+                expected.set(index, value);
+                tree.set(index, value);
+            }
+
+            int from = random.nextInt(array.length);
+            int to = from + random.nextInt(array.length - from);
+
+            assertEquals(expected.get(from, to), tree.get(from, to));
+        }
+    }
+
+    @Test
+    public void testThatConcurrentUpdatesAreNotLost() throws Exception {
+        int threads = 8;
+        int updates = 20_000;
+        ConcurrentSegmentTree tree = new ConcurrentSegmentTree(new long[100]);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < updates; i++) {
+                        tree.add(ThreadLocalRandom.current().nextInt(100), 1);
+
+                        // only positive diffs, so a sum can only grow
+                        long sum = tree.get(0, 99);
+                        assertTrue(sum >= i + 1);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals((long) threads * updates, tree.get(0, 99));
+
+        long sum = 0;
+        for (int i = 0; i < 100; i++) {
+            sum += tree.get(i);
+        }
+
+        assertEquals((long) threads * updates, sum);
+    }
+
+    @Test
+    public void testThatQueriesRespectTheOrderOfUpdates() throws Exception {
+        int size = 1 << 12;
+        int rounds = 200_000;
+        int low = 1;
+        int high = size - 1;
+        ConcurrentSegmentTree tree = new ConcurrentSegmentTree(new long[size]);
+        AtomicBoolean done = new AtomicBoolean();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // every round adds 1 at low, then after that has returned -1 at high,
+            // so any state the tree was in has the range sum 0 or 1;
+            // -1 would be the second update seen without the first one
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    tree.add(low, 1);
+                    tree.add(high, -1);
+                }
+
+                done.set(true);
+            });
+
+            List<Future<?>> readers = new ArrayList<>();
+
+            for (int t = 0; t < 3; t++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        // low is read as a leaf first, high as a part of an upper node last
+                        long sum = tree.get(low, high);
+                        assertTrue(sum == 0 || sum == 1, "sum " + sum);
+                    }
+                }));
+            }
+
+            writer.get();
+
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(rounds, tree.get(low));
+        assertEquals(-rounds, tree.get(high));
+        assertEquals(0, tree.get(0, size - 1));
+    }
+
+    @Test
+    public void testThatEmptyRangesAndTinyTreesWork() {
+        ConcurrentSegmentTree tree = new ConcurrentSegmentTree(new long[]{5});
+
+        assertEquals(5, tree.get(0, 0));
+        tree.set(0, 7);
+        assertEquals(7, tree.get(0, 0));
+
+        ConcurrentSegmentTree big = new ConcurrentSegmentTree(new long[1000]);
+        big.add(999, 3);
+        assertEquals(0, big.get(10, 5));
+        assertEquals(3, big.get(0, 999));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.algoclub.trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DoubleSegmentTreeTest {
+
+    @Test
+    public void testThatQueriesMatchNaiveLoop() {
+        Random random = new Random(11);
+        double[] array = random.doubles(37, -100, 100).toArray();
+
+        DoubleSegmentTree sum = DoubleSegmentTree.sum(array);
+        DoubleSegmentTree min = DoubleSegmentTree.min(array);
+        DoubleSegmentTree max = DoubleSegmentTree.max(array);
+
+        for (int step = 0; step < 1000; step++) {
+            int index = random.nextInt(array.length);
+            array[index] = random.nextDouble() * 200 - 100;
+
+            sum.set(index, array[index]);
+            min.set(index, array[index]);
+            max.set(index, array[index]);
+
+            int from = random.nextInt(array.length);
+            int to = from + random.nextInt(array.length - from);
+
+            double expectedSum = 0;
+            double expectedMin = Double.POSITIVE_INFINITY;
+            double expectedMax = Double.NEGATIVE_INFINITY;
+
+            for (int i = from; i <= to; i++) {
+                expectedSum += array[i];
+                expectedMin = Math.min(expectedMin, array[i]);
+                expectedMax = Math.max(expectedMax, array[i]);
+            }
+
+            assertEquals(expectedSum, sum.get(from, to), 1e-9);
+            assertEquals(expectedMin, min.get(from, to));
+            assertEquals(expectedMax, max.get(from, to));
+        }
+    }
+
+    @Test
+    public void testThatEmptyRangesAreRejected() {
+        double[] array = {3, 1, 4, 1, 5};
+
+        for (DoubleSegmentTree tree : new DoubleSegmentTree[]{
+                DoubleSegmentTree.sum(array), DoubleSegmentTree.min(array), DoubleSegmentTree.max(array)}) {
+            assertEquals(1, tree.get(3, 3));
+            assertThrows(IllegalArgumentException.class, () -> tree.get(4, 2));
+            assertThrows(IllegalArgumentException.class, () -> tree.get(1, 0));
+            assertThrows(IllegalArgumentException.class, () -> tree.get(-1, 2));
+            assertThrows(IllegalArgumentException.class, () -> tree.get(0, 5));
+        }
+    }
+
+}
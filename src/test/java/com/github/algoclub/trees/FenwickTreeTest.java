@@ -0,0 +1,49 @@
+package com.github.algoclub.trees;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FenwickTreeTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 64, 100})
+    public void testThatQueriesMatchSegmentTree(int size) {
+        Random random = new Random(size);
+        int[] array = random.ints(size, -1000, 1000).toArray();
+
+        SegmentTree expected = new SegmentTree(array);
+        FenwickTree tree = new FenwickTree(Arrays.stream(array).asLongStream().toArray());
+
+        for (int step = 0; step < 1000; step++) {
+            int index = random.nextInt(size);
+            int value = random.nextInt(2000) - 1000;
+
+            if (random.nextBoolean()) {
+                expected.add(index, value);
+                tree.add(index, value);
+            } else {
+                expected.set(index, value);
+                tree.set(index, value);
+            }
+
+            int a = random.nextInt(size);
+            int b = random.nextInt(size);
+            int from = Math.min(a, b);
+            int to = Math.max(a, b);
+
+            assertEquals(expected.get(from, to), tree.get(from, to), String.format("Query left: %d right: %d", from, to));
+
+            if (from < to) {
+                assertThrows(IllegalArgumentException.class, () -> tree.get(to, from));
+            }
+            assertEquals(expected.get(0, to), tree.prefix(to));
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.github.algoclub.trees;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LazySegmentTreeTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 64, 100})
+    public void testThatRangeUpdatesMatchNaiveLoop(int size) {
+        Random random = new Random(size);
+        long[] array = random.longs(size, -1000, 1000).toArray();
+
+        LazySegmentTree tree = new LazySegmentTree(array.clone());
+
+        for (int step = 0; step < 2000; step++) {
+            int from = random.nextInt(size);
+            int to = from + random.nextInt(size - from);
+
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    long diff = random.nextInt(2000) - 1000;
+                    tree.rangeAdd(from, to, diff);
+                    for (int i = from; i <= to; i++) {
+                        array[i] += diff;
+                    }
+                }
+                case 1 -> {
+                    long value = random.nextInt(2000) - 1000;
+                    tree.rangeAssign(from, to, value);
+                    Arrays.fill(array, from, to + 1, value);
+                }
+                case 2 -> {
+                    long value = random.nextInt(2000) - 1000;
+                    tree.set(from, value);
+                    array[from] = value;
+                }
+                default -> {
+                    long diff = random.nextInt(2000) - 1000;
+                    tree.add(from, diff);
+                    array[from] += diff;
+                }
+            }
+
+            from = random.nextInt(size);
+            to = from + random.nextInt(size - from);
+
+            long[] range = Arrays.copyOfRange(array, from, to + 1);
+            String message = String.format("Query left: %d right: %d", from, to);
+
+            assertEquals(Arrays.stream(range).sum(), tree.sum(from, to), message);
+            assertEquals(Arrays.stream(range).sum(), tree.get(from, to), message);
+            assertEquals(Arrays.stream(range).min().getAsLong(), tree.min(from, to), message);
+            assertEquals(Arrays.stream(range).max().getAsLong(), tree.max(from, to), message);
+        }
+    }
+
+    @Test
+    public void testThatPointUseMatchesSegmentTree() {
+        //          0  1  2  3  4
+        int[] array = { 5, 1, 7, 9, 3 };
+
+        SegmentTree segmentTree = new SegmentTree(array);
+        LazySegmentTree lazyTree = new LazySegmentTree(array);
+
+        segmentTree.add(0, 1);
+        lazyTree.add(0, 1);
+        segmentTree.set(4, 11);
+        lazyTree.set(4, 11);
+
+        for (int from = 0; from < array.length; from++) {
+            for (int to = 0; to < array.length; to++) {
+                assertEquals(segmentTree.get(from, to), lazyTree.get(from, to));
+            }
+        }
+    }
+
+}
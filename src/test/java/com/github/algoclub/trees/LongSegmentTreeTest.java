@@ -0,0 +1,82 @@
+package com.github.algoclub.trees;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class LongSegmentTreeTest {
+
+    // first non-zero value, associative but not commutative
+    private static final LongBinaryOperator FIRST_NON_ZERO = (a, b) -> a != 0 ? a : b;
+
+    public static Stream<Arguments> values() {
+        return Stream.of(
+                arguments("sum", (Function<long[], LongSegmentTree>) LongSegmentTree::sum, 0L, (LongBinaryOperator) Long::sum),
+                arguments("min", (Function<long[], LongSegmentTree>) LongSegmentTree::min, Long.MAX_VALUE, (LongBinaryOperator) Math::min),
+                arguments("max", (Function<long[], LongSegmentTree>) LongSegmentTree::max, Long.MIN_VALUE, (LongBinaryOperator) Math::max),
+                arguments("gcd", (Function<long[], LongSegmentTree>) LongSegmentTree::gcd, 0L, (LongBinaryOperator) LongSegmentTreeTest::gcd),
+                arguments("custom", (Function<long[], LongSegmentTree>) array -> new LongSegmentTree(array, 0, FIRST_NON_ZERO),
+                        0L, FIRST_NON_ZERO)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("values")
+    public void testThatQueriesMatchNaiveLoop(String name, Function<long[], LongSegmentTree> factory,
+                                              long identity, LongBinaryOperator operation) {
+        Random random = new Random(name.hashCode());
+
+        for (int size : new int[] {1, 2, 5, 13, 64, 100}) {
+            long[] array = new long[size];
+
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextInt(5) == 0 ? 0 : 6 * random.nextInt(1000) - 3000;
+            }
+
+            LongSegmentTree tree = factory.apply(array.clone());
+
+            for (int step = 0; step < 500; step++) {
+                if (random.nextBoolean()) {
+                    int index = random.nextInt(size);
+                    array[index] = 4 * random.nextInt(1000) - 2000;
+                    tree.set(index, array[index]);
+                }
+
+                int from = random.nextInt(size);
+                int to = from + random.nextInt(size - from);
+
+                long expected = identity;
+                for (int i = from; i <= to; i++) {
+                    expected = operation.applyAsLong(expected, array[i]);
+                }
+
+                assertEquals(expected, tree.get(from, to), String.format("Query left: %d right: %d", from, to));
+                assertEquals(array[from], tree.get(from));
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("values")
+    public void testThatValuesBeyondIntAreCombined(String name, Function<long[], LongSegmentTree> factory,
+                                                   long identity, LongBinaryOperator operation) {
+        long[] array = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+        LongSegmentTree tree = factory.apply(array);
+
+        long expected = operation.applyAsLong(operation.applyAsLong(array[0], array[1]), array[2]);
+        assertEquals(expected, tree.get(0, 2));
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? Math.abs(a) : gcd(b, a % b);
+    }
+
+}
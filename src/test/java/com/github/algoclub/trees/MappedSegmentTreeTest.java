@@ -0,0 +1,135 @@
+package com.github.algoclub.trees;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappedSegmentTreeTest {
+
+    // 16 longs per mapping, so even small trees cross mappings
+    private static final int CHUNK_SHIFT = 4;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 100, 1000})
+    public void testThatQueriesMatchNaiveLoop(int size) throws IOException {
+        Path file = directory.resolve("tree");
+        Random random = new Random(size);
+        long[] array = random.longs(size, -1000, 1000).toArray();
+
+        try (MappedSegmentTree tree = MappedSegmentTree.create(file, size, i -> array[(int) i], CHUNK_SHIFT)) {
+            update(tree, array, random);
+            check(tree, array, random);
+        }
+    }
+
+    @Test
+    public void testThatClosedFileIsReopened() throws IOException {
+        Path file = directory.resolve("tree");
+        Random random = new Random(1);
+        long[] array = new long[300];
+
+        try (MappedSegmentTree tree = MappedSegmentTree.create(file, array.length)) {
+            update(tree, array, random);
+        }
+
+        try (MappedSegmentTree tree = MappedSegmentTree.open(file, CHUNK_SHIFT)) {
+            assertEquals(array.length, tree.size());
+            check(tree, array, random);
+
+            update(tree, array, random);
+        }
+
+        try (MappedSegmentTree tree = MappedSegmentTree.open(file)) {
+            check(tree, array, random);
+        }
+    }
+
+    @Test
+    public void testThatFileNotClosedIsRebuilt() throws IOException {
+        Path file = directory.resolve("tree");
+        Random random = new Random(2);
+        long[] array = new long[300];
+
+        MappedSegmentTree crashed = MappedSegmentTree.create(file, array.length, i -> 0, CHUNK_SHIFT);
+        update(crashed, array, random);
+        crashed.force();
+
+        try (MappedSegmentTree tree = MappedSegmentTree.open(file, CHUNK_SHIFT)) {
+            check(tree, array, random);
+        }
+    }
+
+    @Test
+    public void testThatOtherFilesAreRejected() throws IOException {
+        Path file = directory.resolve("other");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IOException.class, () -> MappedSegmentTree.open(file));
+
+        Files.write(file, new byte[3]);
+
+        assertThrows(IOException.class, () -> MappedSegmentTree.open(file));
+    }
+
+    @Test
+    public void testThatBadChunkShiftsAreRejected() throws IOException {
+        Path file = directory.resolve("tree");
+
+        try (MappedSegmentTree tree = MappedSegmentTree.create(file, 10)) {
+            tree.set(3, 7);
+        }
+
+        for (int chunkShift : new int[]{-1, 0, 28, 64}) {
+            assertThrows(IllegalArgumentException.class, () -> MappedSegmentTree.create(file, 10, i -> 0, chunkShift));
+            assertThrows(IllegalArgumentException.class, () -> MappedSegmentTree.open(file, chunkShift));
+        }
+
+        // the rejected create left the file as it was
+        try (MappedSegmentTree tree = MappedSegmentTree.open(file, CHUNK_SHIFT)) {
+            assertEquals(7, tree.get(0, 9));
+        }
+    }
+
+    private static void update(MappedSegmentTree tree, long[] array, Random random) {
+        for (int step = 0; step < 500; step++) {
+            int index = random.nextInt(array.length);
+            long value = random.nextInt(2000) - 1000;
+
+            if (random.nextBoolean()) {
+                tree.add(index, value);
+                array[index] += value;
+            } else {
+                tree.set(index, value);
+                array[index] = value;
+            }
+        }
+    }
+
+    private static void check(MappedSegmentTree tree, long[] array, Random random) {
+        for (int step = 0; step < 500; step++) {
+            int from = random.nextInt(array.length);
+            int to = from + random.nextInt(array.length - from);
+
+            long expected = 0;
+            for (int i = from; i <= to; i++) {
+                expected += array[i];
+            }
+
+            assertEquals(expected, tree.get(from, to), String.format("Query left: %d right: %d", from, to));
+            assertEquals(array[from], tree.get(from));
+        }
+    }
+
+}
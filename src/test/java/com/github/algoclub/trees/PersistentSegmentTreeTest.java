@@ -0,0 +1,118 @@
+package com.github.algoclub.trees;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersistentSegmentTreeTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 100})
+    public void testThatEveryVersionIsKept(int size) {
+        Random random = new Random(size);
+        long[] array = random.longs(size, -1000, 1000).toArray();
+
+        PersistentSegmentTree tree = new PersistentSegmentTree(array.clone());
+        List<long[]> versions = new ArrayList<>();
+        versions.add(array.clone());
+
+        for (int step = 0; step < 300; step++) {
+            int index = random.nextInt(size);
+            long value = random.nextInt(2000) - 1000;
+
+            int version;
+
+            if (random.nextBoolean()) {
+                version = tree.add(index, value);
+                array[index] += value;
+            } else {
+                version = tree.set(index, value);
+                array[index] = value;
+            }
+
+            assertEquals(versions.size(), version);
+            versions.add(array.clone());
+        }
+
+        assertEquals(versions.size() - 1, tree.version());
+
+        for (int step = 0; step < 1000; step++) {
+            int version = random.nextInt(versions.size());
+            check(tree, version, versions.get(version), random);
+        }
+    }
+
+    @Test
+    public void testThatCompactionKeepsRetainedVersions() {
+        Random random = new Random(3);
+        long[] array = new long[64];
+
+        PersistentSegmentTree tree = new PersistentSegmentTree(array.clone());
+        List<long[]> versions = new ArrayList<>();
+        versions.add(array.clone());
+
+        for (int step = 0; step < 500; step++) {
+            int index = random.nextInt(array.length);
+            tree.add(index, index + 1);
+            array[index] += index + 1;
+            versions.add(array.clone());
+        }
+
+        // keeps every 100th version and the latest one
+        for (int version = 0; version < tree.version(); version++) {
+            if (version % 100 != 0) {
+                tree.release(version);
+            }
+        }
+
+        int before = tree.nodeCount();
+        tree.compact();
+        assertTrue(tree.nodeCount() < before / 4, String.format("%d nodes left of %d", tree.nodeCount(), before));
+
+        for (int version = 0; version <= tree.version(); version++) {
+            if (version % 100 == 0 || version == tree.version()) {
+                check(tree, version, versions.get(version), random);
+            } else {
+                int released = version;
+                assertThrows(IllegalArgumentException.class, () -> tree.get(released, 0, 1));
+            }
+        }
+
+        // updates go on after compaction
+        int version = tree.add(0, 5);
+        array[0] += 5;
+        check(tree, version, array, random);
+    }
+
+    @Test
+    public void testThatLatestVersionIsNotReleased() {
+        PersistentSegmentTree tree = new PersistentSegmentTree(new long[] {1, 2, 3});
+        tree.add(0, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> tree.release(1));
+        assertThrows(IllegalArgumentException.class, () -> tree.release(2));
+        assertEquals(7, tree.get(0, 2));
+    }
+
+    private static void check(PersistentSegmentTree tree, int version, long[] array, Random random) {
+        int from = random.nextInt(array.length);
+        int to = from + random.nextInt(array.length - from);
+
+        long expected = 0;
+        for (int i = from; i <= to; i++) {
+            expected += array[i];
+        }
+
+        assertEquals(expected, tree.get(version, from, to),
+                String.format("Version: %d query left: %d right: %d", version, from, to));
+    }
+
+}
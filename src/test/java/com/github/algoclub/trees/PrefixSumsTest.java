@@ -0,0 +1,40 @@
+package com.github.algoclub.trees;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PrefixSumsTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 64, 100})
+    public void testThatQueriesMatchNaiveLoop(int size) {
+        Random random = new Random(size);
+        long[] array = random.longs(size, -1_000_000, 1_000_000).toArray();
+
+        PrefixSums sums = new PrefixSums(array);
+
+        for (int from = 0; from < size; from++) {
+            for (int to = from; to < size; to++) {
+                long[] range = Arrays.copyOfRange(array, from, to + 1);
+
+                assertEquals(Arrays.stream(range).sum(), sums.get(from, to),
+                        String.format("Query left: %d right: %d", from, to));
+            }
+        }
+    }
+
+    @Test
+    public void testThatOverflowingPrefixesGiveExactRanges() {
+        PrefixSums sums = new PrefixSums(new long[]{Long.MAX_VALUE, Long.MAX_VALUE, -5, 3});
+
+        assertEquals(-2, sums.get(2, 3));
+        assertEquals(Long.MAX_VALUE - 5, sums.get(1, 2));
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.github.algoclub.trees;
+
+import com.github.algoclub.trees.RangeQueries.Operation;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RangeQueriesTest {
+
+    @ParameterizedTest
+    @EnumSource(Operation.class)
+    public void testThatChosenStructureAnswersQueries(Operation operation) {
+        Random random = new Random(operation.ordinal());
+        long[] array = random.longs(50, -1000, 1000).toArray();
+
+        RangeQuery immutable = RangeQueries.immutable(array, operation);
+        MutableRangeQuery mutable = RangeQueries.mutable(array, operation);
+
+        Class<?> immutableClass = operation == Operation.SUM ? PrefixSums.class : SparseTable.class;
+        Class<?> mutableClass = operation == Operation.SUM ? FenwickTree.class : LongSegmentTree.class;
+
+        assertInstanceOf(immutableClass, immutable);
+        assertInstanceOf(mutableClass, mutable);
+
+        for (int step = 0; step < 500; step++) {
+            int from = random.nextInt(array.length);
+            int to = from + random.nextInt(array.length - from);
+
+            assertEquals(expected(array, from, to, operation), immutable.get(from, to));
+        }
+
+        for (int step = 0; step < 500; step++) {
+            int index = random.nextInt(array.length);
+            array[index] = random.nextInt(2000) - 1000;
+            mutable.set(index, array[index]);
+
+            int from = random.nextInt(array.length);
+            int to = from + random.nextInt(array.length - from);
+
+            assertEquals(expected(array, from, to, operation), mutable.get(from, to));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Operation.class)
+    public void testThatEmptyRangesAreRejected(Operation operation) {
+        long[] array = {4, 8, 15, 16, 23, 42};
+
+        for (RangeQuery query : new RangeQuery[]{
+                RangeQueries.immutable(array, operation),
+                RangeQueries.mutable(array, operation)}) {
+            assertThrows(IllegalArgumentException.class, () -> query.get(5, 3));
+            assertThrows(IllegalArgumentException.class, () -> query.get(1, 0));
+            assertThrows(IllegalArgumentException.class, () -> query.get(-1, 3));
+            assertThrows(IllegalArgumentException.class, () -> query.get(0, 6));
+            assertEquals(expected(array, 3, 3, operation), query.get(3, 3));
+        }
+    }
+
+    private static long expected(long[] array, int from, int to, Operation operation) {
+        long[] range = Arrays.copyOfRange(array, from, to + 1);
+
+        return switch (operation) {
+            case SUM -> Arrays.stream(range).sum();
+            case MIN -> Arrays.stream(range).min().getAsLong();
+            case MAX -> Arrays.stream(range).max().getAsLong();
+        };
+    }
+
+}
@@ -1,12 +1,16 @@
 package com.github.algoclub.trees;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.IntBuffer;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 public class SegmentTreeTest {
@@ -106,4 +110,65 @@ public class SegmentTreeTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("values")
+    public void testThatBufferBuildWorksFine(int[] array, Request[] requests) {
+        IntBuffer buffer = IntBuffer.allocate(array.length + 2);
+        buffer.put(42).put(array).put(42);
+        buffer.position(1).limit(array.length + 1);
+
+        SegmentTree segmentTree = new SegmentTree(buffer);
+
+        assertEquals(1, buffer.position());
+
+        for (var request: requests) {
+            request.apply(segmentTree);
+        }
+    }
+
+    @Test
+    public void testThatBatchesMatchSingleUpdates() {
+        Random random = new Random(7);
+
+        for (int size : new int[] {1, 2, 5, 13, 64, 100}) {
+            int[] array = random.ints(size, -100, 100).toArray();
+
+            SegmentTree batched = new SegmentTree(array);
+            SegmentTree single = new SegmentTree(array);
+
+            for (int step = 0; step < 50; step++) {
+                int[] indexes = random.ints(random.nextInt(2 * size), 0, size).toArray();
+                int[] values = random.ints(indexes.length, -100, 100).toArray();
+
+                if (random.nextBoolean()) {
+                    batched.setAll(indexes, values);
+                    for (int i = 0; i < indexes.length; i++) {
+                        single.set(indexes[i], values[i]);
+                    }
+                } else {
+                    batched.addAll(indexes, values);
+                    for (int i = 0; i < indexes.length; i++) {
+                        single.add(indexes[i], values[i]);
+                    }
+                }
+
+                for (int from = 0; from < size; from++) {
+                    for (int to = from; to < size; to++) {
+                        assertEquals(single.get(from, to), batched.get(from, to),
+                                String.format("Query left: %d right: %d", from, to));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testThatBatchChecksIndexes() {
+        SegmentTree segmentTree = new SegmentTree(new int[] { 1, 2, 3 });
+
+        assertThrows(IllegalArgumentException.class, () -> segmentTree.setAll(new int[] { 0, 3 }, new int[] { 1, 1 }));
+        assertThrows(IllegalArgumentException.class, () -> segmentTree.addAll(new int[] { 0 }, new int[] { 1, 1 }));
+        assertEquals(6, segmentTree.get(0, 2));
+    }
+
 }
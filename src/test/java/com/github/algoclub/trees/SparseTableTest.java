@@ -0,0 +1,33 @@
+package com.github.algoclub.trees;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SparseTableTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 64, 100})
+    public void testThatQueriesMatchNaiveLoop(int size) {
+        Random random = new Random(size);
+        long[] array = random.longs(size).toArray();
+
+        SparseTable min = SparseTable.min(array);
+        SparseTable max = SparseTable.max(array);
+
+        for (int from = 0; from < size; from++) {
+            for (int to = from; to < size; to++) {
+                long[] range = Arrays.copyOfRange(array, from, to + 1);
+                String message = String.format("Query left: %d right: %d", from, to);
+
+                assertEquals(Arrays.stream(range).min().getAsLong(), min.get(from, to), message);
+                assertEquals(Arrays.stream(range).max().getAsLong(), max.get(from, to), message);
+            }
+        }
+    }
+
+}